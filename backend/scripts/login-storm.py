@@ -0,0 +1,136 @@
+#!/usr/bin/env python3
+"""
+Login storm benchmark: blocking vs non-blocking Google login.
+
+Fires bursts of concurrent logins, as after a push notification, at
+  POST /api/v1/auth/login/google           (blocking, one servlet thread per login)
+  POST /api/v1/auth/login/google/reactive  (WebClient + reactive Mongo)
+and reports throughput, latency percentiles and errors per endpoint and
+concurrency level, plus the server's thread counts from /actuator/metrics.
+
+Standard library only. Usage:
+  python3 scripts/login-storm.py --tokens tokens.txt --concurrency 50,200,500
+
+tokens.txt holds Google ID tokens, one per line, used round-robin. See
+"Benchmarking the login endpoints" in README.md for the method.
+"""
+
+import argparse
+import json
+import statistics
+import threading
+import time
+import urllib.error
+import urllib.request
+from concurrent.futures import ThreadPoolExecutor
+
+ENDPOINTS = {
+    "blocking": "/api/v1/auth/login/google",
+    "reactive": "/api/v1/auth/login/google/reactive",
+}
+THREAD_METRICS = ("jvm.threads.live", "jvm.threads.peak")
+
+
+def login(base_url, path, token, timeout):
+    body = json.dumps({"idToken": token}).encode("utf-8")
+    request = urllib.request.Request(
+        base_url + path, data=body, method="POST",
+        headers={"Content-Type": "application/json"})
+    started = time.perf_counter()
+    try:
+        with urllib.request.urlopen(request, timeout=timeout) as response:
+            response.read()
+            status = response.status
+    except urllib.error.HTTPError as ex:
+        status = ex.code
+    except Exception as ex:  # connection refused, reset, client timeout
+        status = type(ex).__name__
+    return status, time.perf_counter() - started
+
+
+def metric(base_url, name):
+    try:
+        with urllib.request.urlopen(f"{base_url}/actuator/metrics/{name}", timeout=5) as response:
+            measurements = json.load(response)["measurements"]
+            return measurements[0]["value"] if measurements else None
+    except Exception:
+        return None
+
+
+def percentile(sorted_values, p):
+    if not sorted_values:
+        return float("nan")
+    index = min(len(sorted_values) - 1, max(0, round(p / 100 * len(sorted_values)) - 1))
+    return sorted_values[index]
+
+
+def storm(base_url, path, tokens, concurrency, requests, timeout):
+    """All workers wait on a barrier, then fire together; each sends requests // concurrency logins."""
+    barrier = threading.Barrier(concurrency)
+    per_worker = max(1, requests // concurrency)
+
+    def worker(index):
+        barrier.wait()
+        results = []
+        for i in range(per_worker):
+            token = tokens[(index * per_worker + i) % len(tokens)]
+            results.append(login(base_url, path, token, timeout))
+        return results
+
+    started = time.perf_counter()
+    with ThreadPoolExecutor(max_workers=concurrency) as pool:
+        results = [r for rs in pool.map(worker, range(concurrency)) for r in rs]
+    return results, time.perf_counter() - started
+
+
+def report(name, concurrency, results, elapsed, threads):
+    latencies = sorted(latency for status, latency in results if status == 200)
+    errors = {}
+    for status, _ in results:
+        if status != 200:
+            errors[status] = errors.get(status, 0) + 1
+    ms = lambda seconds: f"{seconds * 1000:8.1f}"
+    print(f"{name:<9} c={concurrency:<5} n={len(results):<6} ok={len(latencies):<6} "
+          f"rps={len(latencies) / elapsed:8.1f} "
+          f"p50={ms(percentile(latencies, 50))} p90={ms(percentile(latencies, 90))} "
+          f"p99={ms(percentile(latencies, 99))} max={ms(latencies[-1] if latencies else float('nan'))} "
+          f"mean={ms(statistics.fmean(latencies) if latencies else float('nan'))} "
+          f"threads={threads} errors={errors or '-'}")
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--base-url", default="http://localhost:8080/finance-tracker")
+    parser.add_argument("--tokens", required=True, help="file with one Google ID token per line")
+    parser.add_argument("--endpoint", choices=["blocking", "reactive", "both"], default="both")
+    parser.add_argument("--concurrency", default="50,200,500", help="comma-separated burst sizes")
+    parser.add_argument("--requests", type=int, default=2000, help="logins per run")
+    parser.add_argument("--warmup", type=int, default=50, help="sequential logins per endpoint before measuring")
+    parser.add_argument("--timeout", type=float, default=30.0, help="client timeout per login, seconds")
+    parser.add_argument("--pause", type=float, default=5.0, help="seconds between runs, to let pools drain")
+    args = parser.parse_args()
+
+    with open(args.tokens, encoding="utf-8") as f:
+        tokens = [line.strip() for line in f if line.strip()]
+    if not tokens:
+        parser.error("no tokens in " + args.tokens)
+
+    names = list(ENDPOINTS) if args.endpoint == "both" else [args.endpoint]
+    levels = [int(c) for c in args.concurrency.split(",")]
+
+    for name in names:
+        for i in range(args.warmup):
+            login(args.base_url, ENDPOINTS[name], tokens[i % len(tokens)], args.timeout)
+
+    # Interleave endpoints per level so both see the same server and network conditions
+    for concurrency in levels:
+        for name in names:
+            results, elapsed = storm(args.base_url, ENDPOINTS[name], tokens, concurrency, args.requests, args.timeout)
+            threads = "/".join(str(int(v)) if v is not None else "?"
+                               for v in (metric(args.base_url, m) for m in THREAD_METRICS))
+            report(name, concurrency, results, elapsed, threads)
+            time.sleep(args.pause)
+
+
+if __name__ == "__main__":
+    main()
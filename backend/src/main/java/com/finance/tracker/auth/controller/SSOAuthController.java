@@ -4,6 +4,7 @@ import com.finance.tracker.auth.dto.GoogleLoginRequest;
 import com.finance.tracker.auth.dto.SSOLoginResponse;
 import com.finance.tracker.auth.service.FirebaseAuthService;
 import com.finance.tracker.auth.service.GoogleTokenVerifier;
+import com.finance.tracker.auth.service.ReactiveLoginService;
 import com.finance.tracker.common.dto.ApiResponse;
 import com.finance.tracker.user.service.UserService;
 import jakarta.validation.Valid;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -22,6 +24,7 @@ public class SSOAuthController {
     private final GoogleTokenVerifier googleTokenVerifier;
     private final FirebaseAuthService firebaseAuthService;
     private final UserService userService;
+    private final ReactiveLoginService reactiveLoginService;
 
     @PostMapping("/login/google")
     public ResponseEntity<ApiResponse<SSOLoginResponse>> loginWithGoogle(
@@ -44,6 +47,16 @@ public class SSOAuthController {
         SSOLoginResponse response = new SSOLoginResponse(userId, verified.email());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
-}
-
 
+    /**
+     * Same flow as {@link #loginWithGoogle(GoogleLoginRequest)}, composed on WebClient
+     * and reactive Mongo so no request thread is held while waiting on I/O.
+     */
+    @PostMapping("/login/google/reactive")
+    public Mono<ResponseEntity<ApiResponse<SSOLoginResponse>>> loginWithGoogleReactive(
+            @Valid @RequestBody GoogleLoginRequest request
+    ) {
+        return reactiveLoginService.loginWithGoogle(request.getIdToken())
+                .map(response -> ResponseEntity.ok(ApiResponse.success(response)));
+    }
+}
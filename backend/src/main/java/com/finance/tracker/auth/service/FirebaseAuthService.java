@@ -1,33 +1,144 @@
 package com.finance.tracker.auth.service;
 
+import com.finance.tracker.user.service.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.firebase.auth.AuthErrorCode;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.UserRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.Optional;
 
+/**
+ * Resolves emails to Firebase UIDs. Each lookup tries, in order, an in-process
+ * cache, our own users collection (user IDs are Firebase UIDs), and only then the
+ * Firebase Admin API, so the remote call is made only for users we have never seen.
+ *
+ * Emails unknown to Firebase are remembered for {@code auth.uid-cache.negative-ttl}
+ * so retries do not hit Firebase again; the short TTL bounds how long a newly
+ * registered account can be reported missing.
+ *
+ * Metrics: auth.uid.resolutions (source=cache|database|firebase|not_found|negative_cache)
+ * and cache.* for cache=firebase_uids.
+ */
 @Service
 public class FirebaseAuthService {
+    
+    private final UserService userService;
+    private final Cache<String, String> uidsByEmail;
+    private final Cache<String, Boolean> unknownEmails;
+    private final Counter cacheHits;
+    private final Counter databaseHits;
+    private final Counter firebaseHits;
+    private final Counter notFound;
+    private final Counter negativeCacheHits;
+    
+    public FirebaseAuthService(UserService userService,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.uid-cache.max-size:50000}") long maxSize,
+                               @Value("${auth.uid-cache.ttl:1h}") Duration ttl,
+                               @Value("${auth.uid-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.userService = userService;
+        this.uidsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.unknownEmails = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(negativeTtl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, uidsByEmail, "firebase_uids");
+        this.cacheHits = resolutions(meterRegistry, "cache");
+        this.databaseHits = resolutions(meterRegistry, "database");
+        this.firebaseHits = resolutions(meterRegistry, "firebase");
+        this.notFound = resolutions(meterRegistry, "not_found");
+        this.negativeCacheHits = resolutions(meterRegistry, "negative_cache");
+    }
+    
     /**
      * Try to find an existing Firebase user by email and return its UID.
-     * If not found, create a new Firebase user (letting Firebase assign UID) and return that UID.
      * Returns null if email is blank or null.
      */
     private String resolveOrCreateUidForEmail(String email) {
         if (email == null || email.isBlank()) {
             return null;
         }
+        
+        String cached = uidsByEmail.getIfPresent(email);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        
+        Optional<String> known = userService.findUserIdByEmail(email);
+        if (known.isPresent()) {
+            databaseHits.increment();
+            uidsByEmail.put(email, known.get());
+            return known.get();
+        }
+        
+        if (unknownEmails.getIfPresent(email) != null) {
+            negativeCacheHits.increment();
+            throw new IllegalStateException("Failed to look up Firebase user by email: " + email);
+        }
         try {
             UserRecord user = FirebaseAuth.getInstance().getUserByEmail(email);
+            firebaseHits.increment();
+            uidsByEmail.put(email, user.getUid());
             return user.getUid();
         } catch (FirebaseAuthException ex) {
+            if (ex.getAuthErrorCode() == AuthErrorCode.USER_NOT_FOUND) {
+                notFound.increment();
+                unknownEmails.put(email, Boolean.TRUE);
+            }
             throw new IllegalStateException("Failed to look up Firebase user by email: " + email, ex);
         }
     }
     
+    // ========== Cache access for the reactive login pipeline ==========
+    
+    /**
+     * UID cached for this email, without falling back to the database or Firebase.
+     */
+    public Optional<String> getCachedUid(String email) {
+        String cached = uidsByEmail.getIfPresent(email);
+        if (cached != null) {
+            cacheHits.increment();
+        }
+        return Optional.ofNullable(cached);
+    }
+    
+    public void cacheDatabaseUid(String email, String uid) {
+        databaseHits.increment();
+        uidsByEmail.put(email, uid);
+    }
+    
+    public void cacheFirebaseUid(String email, String uid) {
+        firebaseHits.increment();
+        uidsByEmail.put(email, uid);
+    }
+    
+    public boolean isKnownMissing(String email) {
+        boolean missing = unknownEmails.getIfPresent(email) != null;
+        if (missing) {
+            negativeCacheHits.increment();
+        }
+        return missing;
+    }
+    
+    public void markMissing(String email) {
+        notFound.increment();
+        unknownEmails.put(email, Boolean.TRUE);
+    }
+    
     /**
      * Get or create Firebase UID for email.
      * Public method to be used by SSOAuthController.
@@ -38,6 +149,8 @@ public class FirebaseAuthService {
     public String getOrCreateFirebaseUid(String email) {
         return resolveOrCreateUidForEmail(email);
     }
+    
+    private static Counter resolutions(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("auth.uid.resolutions").tag("source", source).register(meterRegistry);
+    }
 }
-
-
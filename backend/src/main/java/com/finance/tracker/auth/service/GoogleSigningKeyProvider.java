@@ -0,0 +1,88 @@
+package com.finance.tracker.auth.service;
+
+import com.finance.tracker.auth.service.JwksSource.JwksDocument;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Google ID token signing keys, served from an immutable in-memory key set.
+ *
+ * The keys are fetched when the application starts and re-fetched by a scheduler
+ * {@code auth.google.jwks.refresh-ahead} before they expire, so verification never
+ * waits on the network. If a token names a key that is not in the set (a rotation
+ * that happened before the next refresh), one refresh is attempted, at most once
+ * per {@code auth.google.jwks.min-refresh-interval}. A failed refresh keeps
+ * serving the previous keys.
+ */
+@Component
+public class GoogleSigningKeyProvider implements JWKSource<SecurityContext> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GoogleSigningKeyProvider.class);
+    
+    private final JwksSource jwksSource;
+    private final Duration refreshAhead;
+    private final Duration minRefreshInterval;
+    
+    private volatile ImmutableJWKSet<SecurityContext> keys = new ImmutableJWKSet<>(new JWKSet());
+    private volatile Instant expiresAt = Instant.EPOCH;
+    private volatile Instant lastAttempt = Instant.EPOCH;
+    
+    public GoogleSigningKeyProvider(JwksSource jwksSource,
+                                    @Value("${auth.google.jwks.refresh-ahead:10m}") Duration refreshAhead,
+                                    @Value("${auth.google.jwks.min-refresh-interval:1m}") Duration minRefreshInterval) {
+        this.jwksSource = jwksSource;
+        this.refreshAhead = refreshAhead;
+        this.minRefreshInterval = minRefreshInterval;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+    
+    @Scheduled(fixedDelayString = "${auth.google.jwks.check-interval-ms:60000}")
+    public void refreshIfExpiring() {
+        if (Instant.now().plus(refreshAhead).isAfter(expiresAt)) {
+            refresh();
+        }
+    }
+    
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        List<JWK> matches = keys.get(jwkSelector, context);
+        if (matches.isEmpty() && Instant.now().isAfter(lastAttempt.plus(minRefreshInterval))) {
+            refresh();
+            matches = keys.get(jwkSelector, context);
+        }
+        return matches;
+    }
+    
+    private synchronized void refresh() {
+        lastAttempt = Instant.now();
+        try {
+            JwksDocument document = jwksSource.fetch();
+            keys = new ImmutableJWKSet<>(document.keys());
+            expiresAt = document.expiresAt();
+            logger.debug("Loaded {} Google signing key(s), valid until {}", document.keys().getKeys().size(), expiresAt);
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Failed to refresh Google signing keys, keeping the current set: {}", ex.getMessage());
+        }
+    }
+}
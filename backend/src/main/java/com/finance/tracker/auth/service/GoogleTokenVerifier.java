@@ -1,41 +1,56 @@
 package com.finance.tracker.auth.service;
 
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 
+/**
+ * Verifies Google ID tokens locally against the keys held by
+ * {@link GoogleSigningKeyProvider}; no network call is made per token.
+ */
 @Service
 public class GoogleTokenVerifier {
 
-    private final GoogleIdTokenVerifier verifier;
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
 
-    public GoogleTokenVerifier(@Value("${auth.google.clientIds}") List<String> allowedClientIds) {
-        this.verifier = new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
-                .setAudience(allowedClientIds)
-                .build();
+    private final ConfigurableJWTProcessor<SecurityContext> processor;
+
+    public GoogleTokenVerifier(@Value("${auth.google.clientIds}") List<String> allowedClientIds,
+                               GoogleSigningKeyProvider signingKeyProvider) {
+        this.processor = new DefaultJWTProcessor<>();
+        this.processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, signingKeyProvider));
+        this.processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+                new HashSet<>(allowedClientIds),
+                null,
+                Set.of("iss", "sub", "exp", "iat"),
+                null
+        ));
     }
 
     public VerifiedGoogleToken verify(String idTokenString) {
         try {
-            GoogleIdToken idToken = verifier.verify(idTokenString);
-            if (idToken == null) {
+            JWTClaimsSet claims = processor.process(idTokenString, null);
+            if (!ISSUERS.contains(claims.getIssuer())) {
                 throw new IllegalArgumentException("Invalid Google ID token");
             }
-            GoogleIdToken.Payload payload = idToken.getPayload();
-            String userId = payload.getSubject();
-            String email = payload.getEmail();
-            boolean emailVerified = Boolean.TRUE.equals(payload.getEmailVerified());
-            String name = (String) payload.get("name");
-            String picture = (String) payload.get("picture");
-
-            return new VerifiedGoogleToken(userId, email, emailVerified, name, picture, payload.getIssuer(), payload.getAudience());
+            String userId = claims.getSubject();
+            String email = claims.getStringClaim("email");
+            Object emailVerifiedClaim = claims.getClaim("email_verified");
+            boolean emailVerified = Boolean.TRUE.equals(emailVerifiedClaim) || "true".equals(emailVerifiedClaim);
+            String name = claims.getStringClaim("name");
+            String picture = claims.getStringClaim("picture");
+
+            return new VerifiedGoogleToken(userId, email, emailVerified, name, picture, claims.getIssuer(), claims.getAudience());
         } catch (Exception ex) {
             throw new IllegalArgumentException("Failed to verify Google ID token", ex);
         }
@@ -51,5 +66,3 @@ public class GoogleTokenVerifier {
             Object audience
     ) {}
 }
-
-
@@ -0,0 +1,114 @@
+package com.finance.tracker.auth.service;
+
+import com.finance.tracker.config.FirebaseConfig;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.firebase.FirebaseApp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking client for the Firebase Identity Toolkit REST API, authenticated
+ * with the Admin SDK's service account.
+ *
+ * Each call is bounded by {@code auth.identity-toolkit.timeout} and retried with
+ * backoff up to {@code auth.identity-toolkit.max-retries} times on timeouts,
+ * connection failures, 429 and 5xx responses.
+ */
+@Component
+public class IdentityToolkitClient {
+    
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(100);
+    
+    private static final List<String> SCOPES = List.of(
+        "https://www.googleapis.com/auth/identitytoolkit",
+        "https://www.googleapis.com/auth/cloud-platform"
+    );
+    
+    private final FirebaseConfig firebaseConfig;
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final int maxRetries;
+    
+    private volatile GoogleCredentials scopedCredentials;
+    
+    public IdentityToolkitClient(FirebaseConfig firebaseConfig,
+                                 WebClient.Builder webClientBuilder,
+                                 @Value("${auth.identity-toolkit.base-url:https://identitytoolkit.googleapis.com}") String baseUrl,
+                                 @Value("${auth.identity-toolkit.timeout:3s}") Duration timeout,
+                                 @Value("${auth.identity-toolkit.max-retries:2}") int maxRetries) {
+        this.firebaseConfig = firebaseConfig;
+        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+    }
+    
+    /**
+     * Firebase UID of the account with this email; empty when there is none.
+     */
+    public Mono<String> lookupUidByEmail(String email) {
+        return Mono.fromCallable(this::accessToken)
+                // Token refreshes are blocking but rare; keep them off the event loop
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(token -> webClient.post()
+                        .uri("/v1/projects/{projectId}/accounts:lookup", projectId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .bodyValue(Map.of("email", List.of(email)))
+                        .retrieve()
+                        .bodyToMono(LookupResponse.class)
+                        .timeout(timeout))
+                .retryWhen(Retry.backoff(maxRetries, RETRY_BACKOFF).filter(this::isTransient))
+                .flatMap(response -> response.users() == null || response.users().isEmpty()
+                        ? Mono.empty()
+                        : Mono.justOrEmpty(response.users().get(0).localId()));
+    }
+    
+    private String accessToken() throws IOException {
+        GoogleCredentials credentials = scopedCredentials;
+        if (credentials == null) {
+            if (firebaseConfig.getCredentials() == null) {
+                throw new IllegalStateException("Firebase service account credentials are not available");
+            }
+            credentials = firebaseConfig.getCredentials().createScoped(SCOPES);
+            scopedCredentials = credentials;
+        }
+        // Cached until shortly before expiry; only then does this make a network call
+        credentials.refreshIfExpired();
+        return credentials.getAccessToken().getTokenValue();
+    }
+    
+    private String projectId() {
+        String projectId = FirebaseApp.getInstance().getOptions().getProjectId();
+        if (projectId == null && firebaseConfig.getCredentials() instanceof ServiceAccountCredentials serviceAccount) {
+            projectId = serviceAccount.getProjectId();
+        }
+        return projectId;
+    }
+    
+    private boolean isTransient(Throwable error) {
+        if (error instanceof TimeoutException || error instanceof WebClientRequestException) {
+            return true;
+        }
+        return error instanceof WebClientResponseException response
+                && (response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429);
+    }
+    
+    private record LookupResponse(List<Account> users) {
+    }
+    
+    private record Account(String localId, String email) {
+    }
+}
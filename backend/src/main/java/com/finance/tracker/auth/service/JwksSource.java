@@ -0,0 +1,21 @@
+package com.finance.tracker.auth.service;
+
+import com.nimbusds.jose.jwk.JWKSet;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Where {@link GoogleSigningKeyProvider} loads its signing keys from.
+ * Selected with {@code auth.google.jwks.source} ({@code remote} or {@code local}).
+ */
+public interface JwksSource {
+    
+    JwksDocument fetch() throws IOException;
+    
+    /**
+     * A key set and the time after which it should be fetched again.
+     */
+    record JwksDocument(JWKSet keys, Instant expiresAt) {
+    }
+}
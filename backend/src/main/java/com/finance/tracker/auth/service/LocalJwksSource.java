@@ -0,0 +1,40 @@
+package com.finance.tracker.auth.service;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stand-in for Google's JWKS endpoint that reads a key set from a file or classpath
+ * resource ({@code auth.google.jwks.location}). For tests and offline environments
+ * that sign their own ID tokens.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.google.jwks.source", havingValue = "local")
+public class LocalJwksSource implements JwksSource {
+    
+    private static final Duration RELOAD_INTERVAL = Duration.ofMinutes(5);
+    
+    private final Resource location;
+    
+    public LocalJwksSource(@Value("${auth.google.jwks.location}") Resource location) {
+        this.location = location;
+    }
+    
+    @Override
+    public JwksDocument fetch() throws IOException {
+        try (InputStream input = location.getInputStream()) {
+            return new JwksDocument(JWKSet.load(input), Instant.now().plus(RELOAD_INTERVAL));
+        } catch (ParseException ex) {
+            throw new IOException("Invalid JWKS in " + location, ex);
+        }
+    }
+}
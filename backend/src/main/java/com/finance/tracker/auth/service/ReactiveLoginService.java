@@ -0,0 +1,75 @@
+package com.finance.tracker.auth.service;
+
+import com.finance.tracker.auth.dto.SSOLoginResponse;
+import com.finance.tracker.user.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The Google login flow of {@code SSOAuthController}, composed without blocking a
+ * request thread. The steps are: verify the Google ID token, resolve the Firebase
+ * UID (cache, users collection, then Identity Toolkit over WebClient), then upsert
+ * the user through reactive Mongo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveLoginService {
+    
+    private static final Duration MONGO_RETRY_BACKOFF = Duration.ofMillis(50);
+    
+    private final GoogleTokenVerifier googleTokenVerifier;
+    private final FirebaseAuthService firebaseAuthService;
+    private final IdentityToolkitClient identityToolkitClient;
+    private final ReactiveUserService reactiveUserService;
+    
+    @Value("${auth.login.mongo-timeout:2s}")
+    private Duration mongoTimeout;
+    
+    public Mono<SSOLoginResponse> loginWithGoogle(String idToken) {
+        // Verification is local, but may refresh signing keys after an unseen rotation
+        return Mono.fromCallable(() -> googleTokenVerifier.verify(idToken))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(verified -> resolveUid(verified.email())
+                        .flatMap(uid -> withMongoPolicy(
+                                reactiveUserService.createUserIfNotExists(uid, verified.email(), verified.name())))
+                        .map(userId -> new SSOLoginResponse(userId, verified.email())));
+    }
+    
+    private Mono<String> resolveUid(String email) {
+        if (email == null || email.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Google ID token has no email"));
+        }
+        return Mono.justOrEmpty(firebaseAuthService.getCachedUid(email))
+                .switchIfEmpty(Mono.defer(() -> withMongoPolicy(reactiveUserService.findUserIdByEmail(email))
+                        .doOnNext(uid -> firebaseAuthService.cacheDatabaseUid(email, uid))))
+                .switchIfEmpty(Mono.defer(() -> lookUpInFirebase(email)));
+    }
+    
+    private Mono<String> lookUpInFirebase(String email) {
+        if (firebaseAuthService.isKnownMissing(email)) {
+            return Mono.error(new IllegalStateException("Failed to look up Firebase user by email: " + email));
+        }
+        return identityToolkitClient.lookupUidByEmail(email)
+                .doOnNext(uid -> firebaseAuthService.cacheFirebaseUid(email, uid))
+                .switchIfEmpty(Mono.defer(() -> {
+                    firebaseAuthService.markMissing(email);
+                    return Mono.error(new IllegalStateException("Failed to look up Firebase user by email: " + email));
+                }));
+    }
+    
+    private <T> Mono<T> withMongoPolicy(Mono<T> operation) {
+        return operation
+                .timeout(mongoTimeout)
+                .retryWhen(Retry.backoff(2, MONGO_RETRY_BACKOFF)
+                        .filter(error -> error instanceof TimeoutException
+                                || error instanceof TransientDataAccessException));
+    }
+}
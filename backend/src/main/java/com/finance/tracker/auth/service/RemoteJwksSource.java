@@ -0,0 +1,74 @@
+package com.finance.tracker.auth.service;
+
+import com.finance.tracker.auth.service.JwksSource.JwksDocument;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fetches Google's published JWKS over HTTPS. The expiry comes from the response's
+ * Cache-Control max-age (minus Age), as Google rotates keys within that window.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.google.jwks.source", havingValue = "remote", matchIfMissing = true)
+public class RemoteJwksSource implements JwksSource {
+    
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    
+    private final URI jwksUri;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+    
+    public RemoteJwksSource(@Value("${auth.google.jwks.uri:https://www.googleapis.com/oauth2/v3/certs}") String jwksUri) {
+        this.jwksUri = URI.create(jwksUri);
+    }
+    
+    @Override
+    public JwksDocument fetch() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + jwksUri, ex);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Fetching " + jwksUri + " returned HTTP " + response.statusCode());
+        }
+        
+        try {
+            return new JwksDocument(JWKSet.parse(response.body()), Instant.now().plus(maxAge(response)));
+        } catch (ParseException ex) {
+            throw new IOException("Invalid JWKS returned by " + jwksUri, ex);
+        }
+    }
+    
+    private Duration maxAge(HttpResponse<?> response) {
+        Matcher matcher = MAX_AGE.matcher(response.headers().firstValue("Cache-Control").orElse(""));
+        if (!matcher.find()) {
+            return DEFAULT_MAX_AGE;
+        }
+        long seconds = Long.parseLong(matcher.group(1));
+        long age = response.headers().firstValueAsLong("Age").orElse(0);
+        return Duration.ofSeconds(Math.max(0, seconds - age));
+    }
+}
@@ -0,0 +1,190 @@
+package com.finance.tracker.category.changelog;
+
+import com.finance.tracker.common.util.NameKeyUtils;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Backfills {@code nameKey} on default and user categories and makes it unique:
+ * globally for default categories, per user for user categories.
+ *
+ * Nothing is deleted. Where keys collide, the first active category (by _id) keeps
+ * its name; the others are renamed with a numeric suffix ("Food (2)") and deactivated.
+ * Transactions reference categories by name, which still matches the kept category
+ * case-insensitively. Rollback restores the original names and states.
+ */
+@ChangeUnit(id = "category-name-key", order = "009", author = "finance-tracker")
+public class CategoryNameKeyChangelog {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryNameKeyChangelog.class);
+
+    private static final String DEFAULT_COLLECTION = "default_categories";
+    private static final String USER_COLLECTION = "user_categories";
+    private static final String NAME_FIELD = "name";
+    private static final String NAME_KEY_FIELD = "nameKey";
+    private static final String USER_ID_FIELD = "userId";
+    private static final String IS_ACTIVE_FIELD = "isActive";
+    private static final String DEDUPED_FROM_FIELD = "dedupedFrom";
+    private static final String DEFAULT_NAME_KEY_INDEX = "nameKey_1";
+    private static final String USER_NAME_KEY_INDEX = "userId_1_nameKey_1";
+    private static final int BATCH_SIZE = 1000;
+
+    @Execution
+    public void execution(MongoTemplate mongoTemplate) {
+        backfill(mongoTemplate.getCollection(DEFAULT_COLLECTION), false);
+        backfill(mongoTemplate.getCollection(USER_COLLECTION), true);
+
+        mongoTemplate.indexOps(DEFAULT_COLLECTION).ensureIndex(new Index()
+                .on(NAME_KEY_FIELD, Sort.Direction.ASC)
+                .unique()
+                .named(DEFAULT_NAME_KEY_INDEX));
+        mongoTemplate.indexOps(USER_COLLECTION).ensureIndex(new Index()
+                .on(USER_ID_FIELD, Sort.Direction.ASC)
+                .on(NAME_KEY_FIELD, Sort.Direction.ASC)
+                .unique()
+                .named(USER_NAME_KEY_INDEX));
+    }
+
+    private void backfill(MongoCollection<Document> collection, boolean perUser) {
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        List<Document> group = new ArrayList<>();
+        // Ordered by owner then _id; each owner's categories are deduplicated together
+        try (MongoCursor<Document> cursor = collection.find()
+                .projection(Projections.include(USER_ID_FIELD, NAME_FIELD, IS_ACTIVE_FIELD))
+                .sort(perUser ? Sorts.ascending(USER_ID_FIELD, "_id") : Sorts.ascending("_id"))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            String currentUser = null;
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                if (perUser) {
+                    String userId = document.getString(USER_ID_FIELD);
+                    if (!group.isEmpty() && !Objects.equals(currentUser, userId)) {
+                        flush(collection, dedupe(collection.getNamespace().getCollectionName(), currentUser, group), batch);
+                        group.clear();
+                    }
+                    currentUser = userId;
+                }
+                group.add(document);
+            }
+            if (!group.isEmpty()) {
+                flush(collection, dedupe(collection.getNamespace().getCollectionName(), currentUser, group), batch);
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+    }
+
+    /**
+     * Key updates for one owner's categories. Within each set of colliding keys the
+     * first active category (by _id) keeps its name; the others are renamed with a
+     * numeric suffix and deactivated, keeping their original name and state in
+     * {@code dedupedFrom} for rollback.
+     */
+    private List<WriteModel<Document>> dedupe(String collectionName, String userId, List<Document> group) {
+        Map<String, List<Document>> byKey = new LinkedHashMap<>();
+        for (Document document : group) {
+            String nameKey = NameKeyUtils.toKey(document.getString(NAME_FIELD));
+            byKey.computeIfAbsent(nameKey, key -> new ArrayList<>()).add(document);
+        }
+        Set<String> takenKeys = new HashSet<>(byKey.keySet());
+
+        List<WriteModel<Document>> updates = new ArrayList<>(group.size());
+        for (Map.Entry<String, List<Document>> entry : byKey.entrySet()) {
+            List<Document> sameKey = entry.getValue();
+            Document keeper = sameKey.stream()
+                    .filter(document -> !Boolean.FALSE.equals(document.getBoolean(IS_ACTIVE_FIELD)))
+                    .findFirst()
+                    .orElse(sameKey.get(0));
+            for (Document document : sameKey) {
+                if (document == keeper || entry.getKey() == null) {
+                    updates.add(new UpdateOneModel<>(
+                            Filters.eq("_id", document.get("_id")),
+                            Updates.set(NAME_KEY_FIELD, entry.getKey())));
+                    continue;
+                }
+                String name = document.getString(NAME_FIELD).trim();
+                String renamed;
+                String renamedKey;
+                int suffix = 2;
+                do {
+                    renamed = name + " (" + suffix++ + ")";
+                    renamedKey = NameKeyUtils.toKey(renamed);
+                } while (!takenKeys.add(renamedKey));
+                logger.warn("Renamed duplicate category {} in {}{} from '{}' to '{}' and deactivated it; kept {}",
+                        document.get("_id"), collectionName, userId != null ? " of user " + userId : "",
+                        document.getString(NAME_FIELD), renamed, keeper.get("_id"));
+                updates.add(new UpdateOneModel<>(
+                        Filters.eq("_id", document.get("_id")),
+                        Updates.combine(
+                                Updates.set(DEDUPED_FROM_FIELD, new Document(NAME_FIELD, document.getString(NAME_FIELD))
+                                        .append(IS_ACTIVE_FIELD, document.getBoolean(IS_ACTIVE_FIELD))),
+                                Updates.set(NAME_FIELD, renamed),
+                                Updates.set(NAME_KEY_FIELD, renamedKey),
+                                Updates.set(IS_ACTIVE_FIELD, false))));
+            }
+        }
+        return updates;
+    }
+
+    private void flush(MongoCollection<Document> collection, List<WriteModel<Document>> updates,
+                       List<WriteModel<Document>> batch) {
+        for (WriteModel<Document> update : updates) {
+            batch.add(update);
+            if (batch.size() == BATCH_SIZE) {
+                collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                batch.clear();
+            }
+        }
+    }
+
+    private void tryDropIndex(IndexOperations indexOps, String name) {
+        try {
+            indexOps.dropIndex(name);
+        } catch (Exception ignored) {
+        }
+    }
+
+    @RollbackExecution
+    public void rollback(MongoTemplate mongoTemplate) {
+        tryDropIndex(mongoTemplate.indexOps(DEFAULT_COLLECTION), DEFAULT_NAME_KEY_INDEX);
+        tryDropIndex(mongoTemplate.indexOps(USER_COLLECTION), USER_NAME_KEY_INDEX);
+        restoreRenamed(mongoTemplate.getCollection(DEFAULT_COLLECTION));
+        restoreRenamed(mongoTemplate.getCollection(USER_COLLECTION));
+        mongoTemplate.getCollection(DEFAULT_COLLECTION).updateMany(Filters.exists(NAME_KEY_FIELD), Updates.unset(NAME_KEY_FIELD));
+        mongoTemplate.getCollection(USER_COLLECTION).updateMany(Filters.exists(NAME_KEY_FIELD), Updates.unset(NAME_KEY_FIELD));
+    }
+
+    private void restoreRenamed(MongoCollection<Document> collection) {
+        collection.updateMany(Filters.exists(DEDUPED_FROM_FIELD), List.of(
+                new Document("$set", new Document(NAME_FIELD, "$" + DEDUPED_FROM_FIELD + "." + NAME_FIELD)
+                        .append(IS_ACTIVE_FIELD, "$" + DEDUPED_FROM_FIELD + "." + IS_ACTIVE_FIELD)),
+                new Document("$unset", DEDUPED_FROM_FIELD)));
+    }
+}
@@ -1,6 +1,7 @@
 package com.finance.tracker.category.entity;
 
 import com.finance.tracker.common.entity.BaseEntity;
+import com.finance.tracker.common.util.NameKeyUtils;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -32,12 +33,23 @@ public class UserCategory extends BaseEntity {
     @Indexed
     private String name;
     
+    /**
+     * Case-folded, whitespace-normalized name, unique per user; kept in sync by
+     * {@link #setName(String)}.
+     */
+    private String nameKey;
+    
     private Boolean isActive = true;
     
     public UserCategory(String userId, String name) {
         this.userId = userId;
-        this.name = name;
+        setName(name);
         this.isActive = true;
     }
+    
+    public void setName(String name) {
+        this.name = name;
+        this.nameKey = NameKeyUtils.toKey(name);
+    }
 }
 
@@ -0,0 +1,32 @@
+package com.finance.tracker.category.repository;
+
+import com.finance.tracker.category.dto.CategoryDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output of the category page $facet pipeline: one page of categories plus the
+ * total match count, which holds at most one element.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryPageResult {
+    private List<CategoryDTO> content = new ArrayList<>();
+    private List<Count> total = new ArrayList<>();
+    
+    public long getTotalElements() {
+        return total.isEmpty() ? 0 : total.get(0).getCount();
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Count {
+        private long count;
+    }
+}
@@ -5,15 +5,12 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface DefaultCategoryRepository extends MongoRepository<DefaultCategory, String> {
     
-    Optional<DefaultCategory> findByNameIgnoreCase(String name);
+    boolean existsByNameKey(String nameKey);
     
     List<DefaultCategory> findByIsActiveTrue();
-    
-    List<DefaultCategory> findByNameContainingIgnoreCaseAndIsActiveTrue(String name);
 }
 
@@ -1,6 +1,7 @@
 package com.finance.tracker.category.repository;
 
 import com.finance.tracker.category.entity.UserCategory;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,10 +13,27 @@ public interface UserCategoryRepository extends MongoRepository<UserCategory, St
     
     List<UserCategory> findByUserIdAndIsActiveTrue(String userId);
     
-    Optional<UserCategory> findByUserIdAndNameIgnoreCaseAndIsActiveTrue(String userId, String name);
-    
-    List<UserCategory> findByUserIdAndNameContainingIgnoreCaseAndIsActiveTrue(String userId, String name);
-    
     Optional<UserCategory> findByIdAndUserId(String id, String userId);
+    
+    /**
+     * One page of the user's categories merged with the default categories, filtered
+     * by a regex on nameKey and ordered by nameKey (defaults first on ties), with the
+     * total match count, in one round trip.
+     */
+    @Aggregation(pipeline = {
+        "{ $match: { 'userId': ?0, 'isActive': true, 'nameKey': { $regex: ?1 } } }",
+        "{ $project: { name: 1, nameKey: 1, isDefault: { $literal: false } } }",
+        "{ $unionWith: { coll: 'default_categories', pipeline: [ "
+            + "  { $match: { 'isActive': true, 'nameKey': { $regex: ?1 } } }, "
+            + "  { $project: { name: 1, nameKey: 1, isDefault: { $literal: true } } } ] } }",
+        "{ $sort: { nameKey: 1, isDefault: -1, _id: 1 } }",
+        "{ $facet: { "
+            + "content: [ "
+            + "  { $skip: ?2 }, "
+            + "  { $limit: ?3 }, "
+            + "  { $project: { _id: 0, id: { $toString: '$_id' }, name: 1, isDefault: 1, isActive: { $literal: true } } } ], "
+            + "total: [ { $count: 'count' } ] "
+            + "} }"
+    })
+    CategoryPageResult findPage(String userId, String nameKeyPattern, long skip, int limit);
 }
-
@@ -0,0 +1,127 @@
+package com.finance.tracker.category.service;
+
+import com.finance.tracker.category.dto.CategoryDTO;
+import com.finance.tracker.category.mapper.CategoryMapper;
+import com.finance.tracker.category.repository.DefaultCategoryRepository;
+import com.finance.tracker.category.repository.UserCategoryRepository;
+import com.finance.tracker.common.dto.PaginatedResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory category catalog serving the category picker's typeahead without
+ * touching Mongo.
+ *
+ * Default categories are loaded once at startup. Each user's categories are loaded
+ * on first use and kept for {@code category.catalog.user-ttl} after loading, or until
+ * {@link CategoryService} invalidates them on a write. The invalidation only reaches
+ * this instance, so the TTL bounds how long a category written through another
+ * instance stays missing, however often the user searches. Both are held
+ * as {@link CategoryIndex} instances, already sorted by name.
+ *
+ * The returned DTOs are shared between requests and must not be modified.
+ */
+@Component
+public class CategoryCatalog {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCatalog.class);
+    
+    /**
+     * Same order as the database path: case-insensitive by name.
+     */
+    static final Comparator<CategoryDTO> NAME_ORDER = Comparator.comparing(CategoryDTO::getName, String.CASE_INSENSITIVE_ORDER);
+    
+    private final DefaultCategoryRepository defaultCategoryRepository;
+    private final UserCategoryRepository userCategoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final Cache<String, CategoryIndex> userIndexes;
+    
+    private volatile CategoryIndex defaultIndex;
+    
+    public CategoryCatalog(DefaultCategoryRepository defaultCategoryRepository,
+                           UserCategoryRepository userCategoryRepository,
+                           CategoryMapper categoryMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${category.catalog.max-users:10000}") long maxUsers,
+                           @Value("${category.catalog.user-ttl:5m}") Duration userTtl) {
+        this.defaultCategoryRepository = defaultCategoryRepository;
+        this.userCategoryRepository = userCategoryRepository;
+        this.categoryMapper = categoryMapper;
+        this.userIndexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(userTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userIndexes, "user_categories");
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDefaults() {
+        CategoryIndex index = new CategoryIndex(
+            categoryMapper.toDTOListFromDefault(defaultCategoryRepository.findByIsActiveTrue()));
+        defaultIndex = index;
+        logger.info("Loaded {} default categories into the category catalog", index.size());
+    }
+    
+    /**
+     * Default and user categories whose name contains {@code searchTerm}
+     * (case-insensitive), merged in name order and paginated.
+     */
+    public PaginatedResponse<CategoryDTO> search(String userId, int page, int size, String searchTerm) {
+        String term = CategoryIndex.fold(searchTerm);
+        List<CategoryDTO> defaults = defaultIndex().search(term);
+        List<CategoryDTO> own = userIndex(userId).search(term);
+        
+        int total = defaults.size() + own.size();
+        long start = (long) page * size;
+        List<CategoryDTO> content = new ArrayList<>(size);
+        
+        // Both inputs are sorted; merge only as far as the requested page. Ties keep
+        // default categories first, like the stable sort of the database path.
+        int d = 0;
+        int u = 0;
+        for (long position = 0; position < start + size && position < total; position++) {
+            CategoryDTO next;
+            if (u >= own.size() || (d < defaults.size() && NAME_ORDER.compare(defaults.get(d), own.get(u)) <= 0)) {
+                next = defaults.get(d++);
+            } else {
+                next = own.get(u++);
+            }
+            if (position >= start) {
+                content.add(next);
+            }
+        }
+        return new PaginatedResponse<>(content, page, size, total);
+    }
+    
+    public void invalidateUser(String userId) {
+        userIndexes.invalidate(userId);
+    }
+    
+    private CategoryIndex defaultIndex() {
+        CategoryIndex index = defaultIndex;
+        if (index == null) {
+            loadDefaults();
+            index = defaultIndex;
+        }
+        return index;
+    }
+    
+    private CategoryIndex userIndex(String userId) {
+        return userIndexes.get(userId, id -> new CategoryIndex(
+            categoryMapper.toDTOListFromUser(userCategoryRepository.findByUserIdAndIsActiveTrue(id))));
+    }
+}
@@ -0,0 +1,116 @@
+package com.finance.tracker.category.service;
+
+import com.finance.tracker.category.dto.CategoryDTO;
+import com.finance.tracker.common.util.NameKeyUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, name-sorted set of categories with a trigram index over the
+ * case-folded names, answering "name contains term" without scanning.
+ *
+ * Matches are returned in name order: posting lists hold positions in the sorted
+ * array, so intersecting them preserves the order. Terms shorter than three
+ * characters have no trigram and fall back to a scan of the folded names.
+ */
+final class CategoryIndex {
+    
+    static final CategoryIndex EMPTY = new CategoryIndex(List.of());
+    
+    private static final int GRAM = 3;
+    
+    private final CategoryDTO[] categories;
+    private final String[] foldedNames;
+    private final Map<String, int[]> postings;
+    
+    CategoryIndex(List<CategoryDTO> categories) {
+        List<CategoryDTO> sorted = new ArrayList<>(categories);
+        sorted.sort(CategoryCatalog.NAME_ORDER);
+        this.categories = sorted.toArray(new CategoryDTO[0]);
+        this.foldedNames = new String[this.categories.length];
+        
+        Map<String, List<Integer>> grams = new HashMap<>();
+        for (int i = 0; i < this.categories.length; i++) {
+            String folded = fold(this.categories[i].getName());
+            foldedNames[i] = folded;
+            for (int start = 0; start + GRAM <= folded.length(); start++) {
+                List<Integer> positions = grams.computeIfAbsent(folded.substring(start, start + GRAM), g -> new ArrayList<>());
+                if (positions.isEmpty() || positions.get(positions.size() - 1) != i) {
+                    positions.add(i);
+                }
+            }
+        }
+        this.postings = new HashMap<>(grams.size() * 2);
+        grams.forEach((gram, positions) -> postings.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+    }
+    
+    static String fold(String value) {
+        return value == null ? "" : NameKeyUtils.toKey(value);
+    }
+    
+    int size() {
+        return categories.length;
+    }
+    
+    /**
+     * Categories whose name contains {@code foldedTerm}, in name order.
+     * An empty term matches everything.
+     */
+    List<CategoryDTO> search(String foldedTerm) {
+        if (foldedTerm.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(categories));
+        }
+        List<CategoryDTO> matches = new ArrayList<>();
+        if (foldedTerm.length() < GRAM) {
+            for (int i = 0; i < categories.length; i++) {
+                if (foldedNames[i].contains(foldedTerm)) {
+                    matches.add(categories[i]);
+                }
+            }
+            return matches;
+        }
+        
+        int[] candidates = null;
+        for (int start = 0; start + GRAM <= foldedTerm.length(); start++) {
+            int[] positions = postings.get(foldedTerm.substring(start, start + GRAM));
+            if (positions == null) {
+                return matches;
+            }
+            candidates = candidates == null ? positions : intersect(candidates, positions);
+            if (candidates.length == 0) {
+                return matches;
+            }
+        }
+        // Every trigram present does not imply the term is; confirm each candidate
+        for (int position : candidates) {
+            if (foldedNames[position].contains(foldedTerm)) {
+                matches.add(categories[position]);
+            }
+        }
+        return matches;
+    }
+    
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                result[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
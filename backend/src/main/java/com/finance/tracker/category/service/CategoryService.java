@@ -3,20 +3,22 @@ package com.finance.tracker.category.service;
 import com.finance.tracker.category.dto.CategoryDTO;
 import com.finance.tracker.category.dto.CreateCategoryRequestDTO;
 import com.finance.tracker.category.dto.UpdateCategoryRequestDTO;
-import com.finance.tracker.category.entity.DefaultCategory;
 import com.finance.tracker.category.entity.UserCategory;
 import com.finance.tracker.category.exception.CategoryNotFoundException;
 import com.finance.tracker.category.exception.CategoryValidationException;
 import com.finance.tracker.category.mapper.CategoryMapper;
+import com.finance.tracker.category.repository.CategoryPageResult;
 import com.finance.tracker.category.repository.DefaultCategoryRepository;
 import com.finance.tracker.category.repository.UserCategoryRepository;
 import com.finance.tracker.common.dto.PaginatedResponse;
+import com.finance.tracker.common.util.NameKeyUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +27,10 @@ public class CategoryService {
     private final DefaultCategoryRepository defaultCategoryRepository;
     private final UserCategoryRepository userCategoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryCatalog categoryCatalog;
+    
+    @Value("${category.catalog.enabled:true}")
+    private boolean catalogEnabled;
     
     /**
      * Get paginated categories combining default and user categories
@@ -32,47 +38,23 @@ public class CategoryService {
      */
     public PaginatedResponse<CategoryDTO> getCategoriesPaginated(
             String userId, int page, int size, String searchTerm) {
-        
-        List<CategoryDTO> allCategories = new ArrayList<>();
-        
-        // Get default categories
-        List<DefaultCategory> defaultCategories;
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            defaultCategories = defaultCategoryRepository
-                    .findByNameContainingIgnoreCaseAndIsActiveTrue(searchTerm.trim());
-        } else {
-            defaultCategories = defaultCategoryRepository.findByIsActiveTrue();
+        if (catalogEnabled) {
+            return categoryCatalog.search(userId, page, size, searchTerm);
         }
-        allCategories.addAll(categoryMapper.toDTOListFromDefault(defaultCategories));
         
-        // Get user categories
-        List<UserCategory> userCategories;
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            userCategories = userCategoryRepository
-                    .findByUserIdAndNameContainingIgnoreCaseAndIsActiveTrue(userId, searchTerm.trim());
-        } else {
-            userCategories = userCategoryRepository.findByUserIdAndIsActiveTrue(userId);
-        }
-        allCategories.addAll(categoryMapper.toDTOListFromUser(userCategories));
+        // Union, filter, sort and paginate server-side; only the requested page is returned
+        String searchKey = searchTerm != null ? NameKeyUtils.toKey(searchTerm) : "";
+        CategoryPageResult result = userCategoryRepository.findPage(
+                userId, Pattern.quote(searchKey), (long) page * size, Math.max(size, 1));
+        long totalElements = result.getTotalElements();
         
-        // Sort by name (case-insensitive)
-        allCategories.sort((a, b) -> a.getName().compareToIgnoreCase(b.getName()));
-        
-        // Manual pagination
-        int start = page * size;
-        int end = Math.min(start + size, allCategories.size());
-        List<CategoryDTO> paginatedContent = allCategories.subList(
-                Math.min(start, allCategories.size()),
-                end
-        );
-        
-        int totalPages = (int) Math.ceil((double) allCategories.size() / size);
+        int totalPages = (int) Math.ceil((double) totalElements / size);
         
         PaginatedResponse<CategoryDTO> response = new PaginatedResponse<>(
-                paginatedContent,
+                result.getContent(),
                 page,
                 size,
-                allCategories.size()
+                totalElements
         );
         response.setTotalPages(totalPages);
         response.setFirst(page == 0);
@@ -94,18 +76,15 @@ public class CategoryService {
             throw CategoryValidationException.invalidCharacters();
         }
         
-        // Check for duplicate in user categories (case-insensitive)
-        if (userCategoryRepository.findByUserIdAndNameIgnoreCaseAndIsActiveTrue(userId, name).isPresent()) {
-            throw CategoryValidationException.duplicateName(name);
-        }
-        
-        // Check if a default category with same name exists (case-insensitive)
-        if (defaultCategoryRepository.findByNameIgnoreCase(name).isPresent()) {
+        // A default category with the same name key takes precedence (index point lookup)
+        if (defaultCategoryRepository.existsByNameKey(NameKeyUtils.toKey(name))) {
             throw CategoryValidationException.duplicateName(name);
         }
         
-        UserCategory userCategory = new UserCategory(userId, name);
-        UserCategory savedCategory = userCategoryRepository.save(userCategory);
+        // Duplicates among the user's own categories are rejected by the unique
+        // (userId, nameKey) index, so concurrent creates cannot both succeed
+        UserCategory savedCategory = saveUserCategory(new UserCategory(userId, name));
+        categoryCatalog.invalidateUser(userId);
         return categoryMapper.toDTO(savedCategory);
     }
     
@@ -125,21 +104,14 @@ public class CategoryService {
             throw CategoryValidationException.invalidCharacters();
         }
         
-        // Check for duplicate in user categories (case-insensitive, excluding current category)
-        userCategoryRepository.findByUserIdAndNameIgnoreCaseAndIsActiveTrue(userId, newName)
-                .ifPresent(existing -> {
-                    if (!existing.getId().equals(categoryId)) {
-                        throw CategoryValidationException.duplicateName(newName);
-                    }
-                });
-        
         // Check if a default category with same name exists (case-insensitive)
-        if (defaultCategoryRepository.findByNameIgnoreCase(newName).isPresent()) {
+        if (defaultCategoryRepository.existsByNameKey(NameKeyUtils.toKey(newName))) {
             throw CategoryValidationException.duplicateName(newName);
         }
         
         userCategory.setName(newName);
-        UserCategory savedCategory = userCategoryRepository.save(userCategory);
+        UserCategory savedCategory = saveUserCategory(userCategory);
+        categoryCatalog.invalidateUser(userId);
         return categoryMapper.toDTO(savedCategory);
     }
     
@@ -152,6 +124,18 @@ public class CategoryService {
                 .orElseThrow(() -> CategoryNotFoundException.byId(categoryId));
         
         userCategoryRepository.delete(userCategory);
+        categoryCatalog.invalidateUser(userId);
+    }
+    
+    /**
+     * Save a user category, translating a unique (userId, nameKey) index violation
+     * into a duplicate name error
+     */
+    private UserCategory saveUserCategory(UserCategory userCategory) {
+        try {
+            return userCategoryRepository.save(userCategory);
+        } catch (DuplicateKeyException e) {
+            throw CategoryValidationException.duplicateName(userCategory.getName());
+        }
     }
 }
-
@@ -0,0 +1,23 @@
+package com.finance.tracker.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated slice of results.
+ * {@code nextCursor} is an opaque token to pass back for the following slice and is
+ * null on the last one. {@code totalElements} is only populated when explicitly requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long totalElements;
+}
@@ -0,0 +1,27 @@
+package com.finance.tracker.common.lock;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Lease on a scheduled job, held by one instance until {@code lockedUntil}.
+ */
+@Document(collection = "job_locks")
+@Data
+@NoArgsConstructor
+public class JobLock {
+
+    /**
+     * Job name.
+     */
+    @Id
+    private String id;
+
+    private Instant lockedUntil;
+
+    private String lockedBy;
+}
@@ -0,0 +1,54 @@
+package com.finance.tracker.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Cluster-wide mutual exclusion for scheduled jobs, backed by the job_locks collection.
+ *
+ * A lock is a lease: it is taken by upserting the job's document only while its
+ * {@code lockedUntil} has passed, so a crashed holder blocks the job for at most
+ * {@code lockFor}.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+
+    private static final String INSTANCE_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * @return true when this instance now holds the lock for {@code lockFor}
+     */
+    public boolean tryAcquire(String jobName, Duration lockFor) {
+        Instant now = Instant.now();
+        Query expired = Query.query(Criteria.where("_id").is(jobName).and("lockedUntil").lte(now));
+        Update lease = new Update().set("lockedUntil", now.plus(lockFor)).set("lockedBy", INSTANCE_ID);
+        try {
+            // A live lock fails the filter, and the upsert then collides on _id
+            return mongoTemplate.findAndModify(expired, lease,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), JobLock.class) != null;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    public void release(String jobName) {
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(jobName).and("lockedBy").is(INSTANCE_ID)),
+            new Update().set("lockedUntil", Instant.now()),
+            JobLock.class
+        );
+    }
+}
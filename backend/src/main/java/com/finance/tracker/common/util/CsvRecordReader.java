@@ -0,0 +1,107 @@
+package com.finance.tracker.common.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: returns one record at a time from the underlying
+ * reader, so only the current record is ever held in memory. Quoted fields may
+ * contain separators, doubled quotes and line breaks.
+ */
+public class CsvRecordReader implements Closeable {
+    
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+    
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private long recordNumber;
+    
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+    
+    /**
+     * Read the next record.
+     *
+     * @return the record's fields, or null at end of input
+     * @throws IOException if the input cannot be read or a record exceeds 64 KB
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int recordLength = 0;
+        while (c != -1) {
+            if (++recordLength > MAX_RECORD_LENGTH) {
+                throw new IOException("CSV record " + (recordNumber + 1) + " exceeds " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == CsvUtils.SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n' && next != -1) {
+                    position--;
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        recordNumber++;
+        return fields;
+    }
+    
+    /**
+     * Number of records returned so far, including the header.
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+    
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,66 @@
+package com.finance.tracker.common.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 helpers for writing CSV straight to a stream.
+ */
+public class CsvUtils {
+    
+    public static final char SEPARATOR = ',';
+    public static final String LINE_SEPARATOR = "\r\n";
+    
+    /**
+     * Write one record. Null values are written as empty fields.
+     */
+    public static void writeRecord(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            if (values[i] != null) {
+                writer.write(escape(values[i].toString()));
+            }
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+    
+    /**
+     * Quote a field when it contains a separator, quote or line break; embedded quotes are doubled.
+     * Fields starting with a formula character are prefixed with a quote so spreadsheets
+     * do not evaluate them.
+     */
+    public static String escape(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        if (isFormulaStart(value.charAt(0))) {
+            value = "'" + value;
+        }
+        boolean needsQuoting = false;
+        for (int i = 0; i < value.length() && !needsQuoting; i++) {
+            char c = value.charAt(i);
+            needsQuoting = c == SEPARATOR || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuoting) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    /**
+     * Undo the formula guard added by {@link #escape(String)}: drop one leading quote
+     * when it precedes a formula character, so exported text imports unchanged.
+     */
+    public static String unescapeFormula(String value) {
+        if (value != null && value.length() > 1 && value.charAt(0) == '\'' && isFormulaStart(value.charAt(1))) {
+            return value.substring(1);
+        }
+        return value;
+    }
+    
+    private static boolean isFormulaStart(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@';
+    }
+}
@@ -0,0 +1,59 @@
+package com.finance.tracker.common.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utility class for amounts stored as {@code long} minor units (hundredths of the
+ * currency unit), so sums stay exact and need no boxing.
+ *
+ * The scale is fixed at 2 decimal places for every currency, matching the
+ * {@code @Digits(fraction = 2)} limit on request amounts. Currencies with 3 minor
+ * digits (KWD, BHD, ...) can only be recorded to 2 decimal places.
+ */
+public class MoneyUtils {
+    
+    /**
+     * Minor units per currency unit.
+     */
+    public static final int MINOR_UNITS = 100;
+    
+    private static final int SCALE = 2;
+    
+    /**
+     * Converts an API amount to minor units, rounding half away from zero from the
+     * amount's shortest decimal representation, so 1.005 becomes 101 and -0.125 becomes -13.
+     * 
+     * @param amount the amount in currency units, can be null
+     * @return the amount in minor units, or 0 if amount is null
+     */
+    public static long toMinor(Double amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    /**
+     * Converts minor units to currency units for API responses.
+     * 
+     * @param amountMinor the amount in minor units
+     * @return the amount in currency units
+     */
+    public static double toMajor(long amountMinor) {
+        return (double) amountMinor / MINOR_UNITS;
+    }
+    
+    /**
+     * Formats minor units as a plain decimal string with 2 decimal places,
+     * without going through floating point.
+     * 
+     * @param amountMinor the amount in minor units
+     * @return the amount as e.g. "-1234.05"
+     */
+    public static String toPlainString(long amountMinor) {
+        long units = Math.abs(amountMinor / MINOR_UNITS);
+        long cents = Math.abs(amountMinor % MINOR_UNITS);
+        return (amountMinor < 0 ? "-" : "") + units + (cents < 10 ? ".0" : ".") + cents;
+    }
+}
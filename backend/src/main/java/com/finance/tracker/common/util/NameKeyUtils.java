@@ -0,0 +1,27 @@
+package com.finance.tracker.common.util;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for deriving lookup keys from user-entered names.
+ */
+public class NameKeyUtils {
+    
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    /**
+     * Case-folded, whitespace-normalized form of a name: trimmed, inner runs of
+     * whitespace collapsed to a single space, lower-cased. Two names that differ
+     * only in case or spacing share a key.
+     * 
+     * @param name the name, can be null
+     * @return the key, or null if name is null
+     */
+    public static String toKey(String name) {
+        if (name == null) {
+            return null;
+        }
+        return WHITESPACE.matcher(name.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
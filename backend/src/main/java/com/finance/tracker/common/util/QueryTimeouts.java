@@ -0,0 +1,15 @@
+package com.finance.tracker.common.util;
+
+/**
+ * Server-side time limits (maxTimeMS) for reads that must not outlive the request
+ * waiting on them. Mongo aborts such a read once the limit passes, which frees the
+ * calling thread along with the server's resources.
+ */
+public class QueryTimeouts {
+    
+    /**
+     * Limit on the reads behind the dashboard's bounded sections; keep
+     * {@code dashboard.fanout.timeout-ms} at or above it.
+     */
+    public static final int DASHBOARD_READ_MS = 2000;
+}
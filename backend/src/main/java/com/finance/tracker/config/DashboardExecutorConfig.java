@@ -0,0 +1,58 @@
+package com.finance.tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded pool for the dashboard's concurrent sub-queries.
+ *
+ * Configuration properties (in application.properties):
+ * - dashboard.fanout.pool-size: Threads shared by all dashboard requests
+ * - dashboard.fanout.queue-capacity: Sub-queries allowed to wait for a thread
+ *
+ * When the queue is full new sub-queries are rejected at once: optional sections
+ * degrade into unavailableSections instead of running unbounded on the request thread.
+ * The submitting request's attributes are carried over to the worker thread, so
+ * sub-queries share the request's resolved user.
+ */
+@Configuration
+public class DashboardExecutorConfig {
+
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${dashboard.fanout.pool-size:16}") int poolSize,
+            @Value("${dashboard.fanout.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(DashboardExecutorConfig::withRequestAttributes);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    private static Runnable withRequestAttributes(Runnable task) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return task;
+        }
+        return () -> {
+            RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                task.run();
+            } finally {
+                RequestContextHolder.setRequestAttributes(previous);
+            }
+        };
+    }
+}
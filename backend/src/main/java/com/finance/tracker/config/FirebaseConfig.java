@@ -30,6 +30,8 @@ public class FirebaseConfig {
     @Value("${auth.firebase.credentialsPath:}")
     private String firebaseCredentialsPath;
 
+    private GoogleCredentials credentials;
+
     @PostConstruct
     public void initializeFirebase() {
         if (!FirebaseApp.getApps().isEmpty()) {
@@ -37,8 +39,9 @@ public class FirebaseConfig {
             return;
         }
         try (InputStream credentialsStream = resolveCredentialsStream()) {
+            credentials = GoogleCredentials.fromStream(credentialsStream);
             FirebaseOptions options = FirebaseOptions.builder()
-                    .setCredentials(GoogleCredentials.fromStream(credentialsStream))
+                    .setCredentials(credentials)
                     .build();
             FirebaseApp.initializeApp(options);
             log.info("Firebase initialized successfully for application '{}'", applicationName);
@@ -47,6 +50,14 @@ public class FirebaseConfig {
         }
     }
 
+    /**
+     * Service account credentials Firebase was initialized with, for calling Google
+     * REST APIs directly. Null when Firebase was initialized elsewhere.
+     */
+    public GoogleCredentials getCredentials() {
+        return credentials;
+    }
+
     private InputStream resolveCredentialsStream() throws Exception {
         if (firebaseCredentialsBase64 != null && !firebaseCredentialsBase64.isBlank()) {
             log.info("Initializing Firebase using Base64 credentials from property 'auth.firebase.credentialsBase64'.");
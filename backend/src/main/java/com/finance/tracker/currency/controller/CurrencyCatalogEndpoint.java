@@ -0,0 +1,45 @@
+package com.finance.tracker.currency.controller;
+
+import com.finance.tracker.currency.service.CurrencyCatalog;
+import com.finance.tracker.currency.service.FxRateTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Operator trigger for the currency catalog: {@code GET /actuator/currencies} reports
+ * the served snapshot, {@code POST /actuator/currencies} reloads it together with the
+ * FX rate table. Only reachable
+ * when {@code currencies} is added to {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "currencies")
+@RequiredArgsConstructor
+public class CurrencyCatalogEndpoint {
+    
+    private final CurrencyCatalog currencyCatalog;
+    private final FxRateTable fxRateTable;
+    
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        return describe(currencyCatalog.getSnapshot());
+    }
+    
+    @WriteOperation
+    public Map<String, Object> refresh() {
+        fxRateTable.refresh();
+        return describe(currencyCatalog.refresh());
+    }
+    
+    private Map<String, Object> describe(CurrencyCatalog.Snapshot snapshot) {
+        return Map.of(
+            "count", snapshot.count(),
+            "etag", snapshot.etag(),
+            "loadedAt", snapshot.loadedAt().toString()
+        );
+    }
+}
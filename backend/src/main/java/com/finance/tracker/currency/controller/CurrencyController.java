@@ -1,29 +1,47 @@
 package com.finance.tracker.currency.controller;
 
-import com.finance.tracker.common.dto.ApiResponse;
-import com.finance.tracker.currency.dto.CurrencyDTO;
-import com.finance.tracker.currency.exception.CurrencyNotFoundException;
-import com.finance.tracker.currency.mapper.CurrencyMapper;
-import com.finance.tracker.currency.repository.CurrencyRepository;
+import com.finance.tracker.currency.service.CurrencyCatalog;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/v1/currencies")
 @RequiredArgsConstructor
 public class CurrencyController {
     
-    private final CurrencyRepository currencyRepository;
-    private final CurrencyMapper currencyMapper;
+    private final CurrencyCatalog currencyCatalog;
     
+    @Value("${currency.catalog.max-age:1h}")
+    private Duration maxAge;
+    
+    /**
+     * Active currencies, served from the pre-serialized catalog snapshot.
+     * Clients revalidating with If-None-Match get 304 while the list is unchanged.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CurrencyDTO>>> getAllCurrencies() {
-        List<CurrencyDTO> currencyDTOs = currencyMapper.toDTOList(
-                currencyRepository.findByIsActiveTrue());
-        return ResponseEntity.ok(ApiResponse.success(currencyDTOs));
+    public ResponseEntity<byte[]> getAllCurrencies(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CurrencyCatalog.Snapshot snapshot = currencyCatalog.getSnapshot();
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePrivate();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(snapshot.body().length)
+                .body(snapshot.body());
     }
 }
-
@@ -0,0 +1,32 @@
+package com.finance.tracker.currency.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+/**
+ * Exchange rate of one currency on one date, expressed as units of {@code currency}
+ * per one unit of the base currency ({@code currency.fx.base}).
+ * A rate applies from its date until the next rate for the same currency.
+ */
+@Document(collection = "fx_rates")
+@CompoundIndex(name = "currency_1_date_1", def = "{ 'currency': 1, 'date': 1 }", unique = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRate {
+
+    @Id
+    private String id;
+
+    private String currency;
+
+    private LocalDate date;
+
+    private Double rate;
+}
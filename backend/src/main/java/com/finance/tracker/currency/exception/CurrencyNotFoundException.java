@@ -13,5 +13,10 @@ public class CurrencyNotFoundException extends BaseException {
                 String.format("Currency with code '%s' not found", code)
         );
     }
+    
+    public static CurrencyNotFoundException fxRate(String code) {
+        return new CurrencyNotFoundException(
+                String.format("No exchange rate available for currency '%s'", code)
+        );
+    }
 }
-
@@ -0,0 +1,9 @@
+package com.finance.tracker.currency.repository;
+
+import com.finance.tracker.currency.entity.FxRate;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FxRateRepository extends MongoRepository<FxRate, String> {
+}
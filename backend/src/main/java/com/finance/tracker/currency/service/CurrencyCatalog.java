@@ -0,0 +1,118 @@
+package com.finance.tracker.currency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.tracker.common.dto.ApiResponse;
+import com.finance.tracker.currency.dto.CurrencyDTO;
+import com.finance.tracker.currency.mapper.CurrencyMapper;
+import com.finance.tracker.currency.repository.CurrencyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Serves the active currency list from memory.
+ *
+ * Currencies only change through changelogs, so the list is loaded once when the
+ * application is ready and kept as the serialized {@link ApiResponse} body together
+ * with a strong ETag derived from it. {@link #refresh()} rebuilds the snapshot; it is
+ * triggered by the {@code currencies} actuator endpoint and, when enabled, by the
+ * currencies change stream.
+ */
+@Service
+public class CurrencyCatalog {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyCatalog.class);
+    
+    private final CurrencyRepository currencyRepository;
+    private final CurrencyMapper currencyMapper;
+    private final ObjectMapper objectMapper;
+    
+    private volatile Snapshot snapshot;
+    
+    public CurrencyCatalog(CurrencyRepository currencyRepository,
+                           CurrencyMapper currencyMapper,
+                           ObjectMapper objectMapper) {
+        this.currencyRepository = currencyRepository;
+        this.currencyMapper = currencyMapper;
+        this.objectMapper = objectMapper;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+    
+    /**
+     * Reload the active currencies and replace the served snapshot.
+     */
+    public synchronized Snapshot refresh() {
+        List<CurrencyDTO> currencies = currencyMapper.toDTOList(currencyRepository.findByIsActiveTrue());
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponse.success(currencies));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize currency list", e);
+        }
+        Snapshot refreshed = new Snapshot(body, etag(body), currencies.size(), Instant.now());
+        Snapshot previous = snapshot;
+        snapshot = refreshed;
+        if (previous == null || !previous.etag().equals(refreshed.etag())) {
+            logger.info("Loaded {} active currencies into the currency catalog (ETag {})",
+                    refreshed.count(), refreshed.etag());
+        }
+        return refreshed;
+    }
+    
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+    
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Serialized response body and its validator. The body array is shared and
+     * must not be modified.
+     */
+    public record Snapshot(byte[] body, String etag, int count, Instant loadedAt) {
+        
+        /**
+         * Whether an If-None-Match header value matches this snapshot's ETag.
+         * Accepts {@code *}, lists and weak validators, which compare weakly per RFC 9110.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) {
+                    return true;
+                }
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.finance.tracker.currency.service;
+
+import com.finance.tracker.currency.entity.Currency;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes {@link CurrencyCatalog} on every change to the currencies collection.
+ *
+ * Change streams require a replica set or sharded cluster, so this is opt-in via
+ * {@code currency.catalog.change-stream.enabled}. Without it, changes are picked up
+ * on restart or through the {@code currencies} actuator endpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "currency.catalog.change-stream.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CurrencyCatalogRefreshListener implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyCatalogRefreshListener.class);
+    
+    private final MongoTemplate mongoTemplate;
+    private final CurrencyCatalog currencyCatalog;
+    
+    private MessageListenerContainer container;
+    
+    @Override
+    public void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        ChangeStreamRequest<Document> request = ChangeStreamRequest.builder(this::onChange)
+                .collection(mongoTemplate.getCollectionName(Currency.class))
+                .build();
+        container.register(request, Document.class,
+                error -> logger.warn("Currency catalog change stream error: {}", error.getMessage()));
+        container.start();
+        logger.info("Listening for currencies changes to refresh the currency catalog");
+    }
+    
+    private void onChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        try {
+            currencyCatalog.refresh();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh currency catalog: {}", e.getMessage());
+        }
+    }
+    
+    @Override
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return container != null && container.isRunning();
+    }
+}
@@ -0,0 +1,198 @@
+package com.finance.tracker.currency.service;
+
+import com.finance.tracker.common.util.CsvRecordReader;
+import com.finance.tracker.currency.entity.FxRate;
+import com.finance.tracker.currency.exception.CurrencyNotFoundException;
+import com.finance.tracker.currency.repository.FxRateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Dated exchange rates held in memory, so conversion never leaves the process and
+ * keeps working without network access.
+ *
+ * Rates come from an optional local CSV file ({@code currency.fx.rates-location},
+ * columns {@code date,currency,rate}) and from the fx_rates collection, which wins
+ * where both define the same date. Each currency's series is stored as two parallel
+ * primitive arrays sorted by day, and {@link #convert} works on whole arrays of
+ * amounts at a time.
+ */
+@Service
+public class FxRateTable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FxRateTable.class);
+    
+    private final FxRateRepository fxRateRepository;
+    private final ResourceLoader resourceLoader;
+    private final String baseCurrency;
+    private final String ratesLocation;
+    
+    private volatile Map<String, Series> series = Map.of();
+    
+    public FxRateTable(FxRateRepository fxRateRepository,
+                       ResourceLoader resourceLoader,
+                       @Value("${currency.fx.base:USD}") String baseCurrency,
+                       @Value("${currency.fx.rates-location:}") String ratesLocation) {
+        this.fxRateRepository = fxRateRepository;
+        this.resourceLoader = resourceLoader;
+        this.baseCurrency = baseCurrency;
+        this.ratesLocation = ratesLocation;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+    
+    /**
+     * Reload every rate from the local file and the fx_rates collection.
+     *
+     * @return number of currencies with rates, including the base currency
+     */
+    public synchronized int refresh() {
+        Map<String, TreeMap<Long, Double>> rates = new HashMap<>();
+        if (ratesLocation != null && !ratesLocation.isBlank()) {
+            readFile(resourceLoader.getResource(ratesLocation), rates);
+        }
+        for (FxRate rate : fxRateRepository.findAll()) {
+            put(rates, rate.getCurrency(), rate.getDate(), rate.getRate());
+        }
+        
+        Map<String, Series> loaded = new HashMap<>();
+        rates.forEach((currency, byDay) -> loaded.put(currency, Series.of(byDay)));
+        loaded.put(baseCurrency, Series.of(new TreeMap<>(Map.of(0L, 1.0))));
+        series = Map.copyOf(loaded);
+        logger.info("Loaded exchange rates for {} currencies (base {})", loaded.size(), baseCurrency);
+        return loaded.size();
+    }
+    
+    public boolean supports(String currency) {
+        return currency != null && series.containsKey(currency);
+    }
+    
+    /**
+     * Whether amounts in {@code from} can be reported in {@code to}.
+     */
+    public boolean canConvert(String from, String to) {
+        return from != null && from.equals(to) || supports(from) && supports(to);
+    }
+    
+    /**
+     * Convert a batch of amounts into {@code target}. Element {@code i} is
+     * {@code amounts[i]} in {@code currencies[i]}, converted at the rates in effect on
+     * {@code epochDays[i]}. A null currency is taken to be {@code target} already.
+     *
+     * @throws CurrencyNotFoundException if a currency other than the target has no rates
+     */
+    public double[] convert(String[] currencies, long[] epochDays, double[] amounts, String target) {
+        Map<String, Series> table = series;
+        double[] converted = new double[amounts.length];
+        Series to = null;
+        Series from = null;
+        String fromCurrency = null;
+        for (int i = 0; i < amounts.length; i++) {
+            String currency = currencies[i];
+            if (currency == null || currency.equals(target)) {
+                converted[i] = amounts[i];
+                continue;
+            }
+            if (to == null) {
+                to = require(table, target);
+            }
+            // Rows usually arrive grouped by currency; only look up on a change
+            if (!currency.equals(fromCurrency)) {
+                from = require(table, currency);
+                fromCurrency = currency;
+            }
+            converted[i] = amounts[i] * to.rateOn(epochDays[i]) / from.rateOn(epochDays[i]);
+        }
+        return converted;
+    }
+    
+    private Series require(Map<String, Series> table, String currency) {
+        Series rates = table.get(currency);
+        if (rates == null) {
+            throw CurrencyNotFoundException.fxRate(currency);
+        }
+        return rates;
+    }
+    
+    private void readFile(Resource resource, Map<String, TreeMap<Long, Double>> rates) {
+        if (!resource.exists()) {
+            logger.warn("Exchange rate file {} not found; using the fx_rates collection only", ratesLocation);
+            return;
+        }
+        try (CsvRecordReader reader = new CsvRecordReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> record = reader.readRecord();
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() < 3) {
+                    continue;
+                }
+                try {
+                    put(rates, record.get(1).trim().toUpperCase(Locale.ROOT),
+                            LocalDate.parse(record.get(0).trim()), Double.valueOf(record.get(2).trim()));
+                } catch (RuntimeException ex) {
+                    logger.warn("Skipping exchange rate record {} of {}: {}",
+                            reader.getRecordNumber(), ratesLocation, ex.getMessage());
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("Failed to read exchange rate file {}: {}", ratesLocation, ex.getMessage());
+        }
+    }
+    
+    private static void put(Map<String, TreeMap<Long, Double>> rates, String currency, LocalDate date, Double rate) {
+        if (currency == null || date == null || rate == null || !(rate > 0)) {
+            return;
+        }
+        rates.computeIfAbsent(currency, c -> new TreeMap<>()).put(date.toEpochDay(), rate);
+    }
+    
+    /**
+     * One currency's rates: {@code rates[i]} applies from {@code days[i]} (epoch day)
+     * until {@code days[i + 1]}.
+     */
+    private record Series(long[] days, double[] rates) {
+        
+        static Series of(TreeMap<Long, Double> byDay) {
+            long[] days = new long[byDay.size()];
+            double[] rates = new double[byDay.size()];
+            int i = 0;
+            for (Map.Entry<Long, Double> entry : byDay.entrySet()) {
+                days[i] = entry.getKey();
+                rates[i] = entry.getValue();
+                i++;
+            }
+            return new Series(days, rates);
+        }
+        
+        /**
+         * Rate in effect on {@code epochDay}; days before the first rate use the first.
+         */
+        double rateOn(long epochDay) {
+            int index = Arrays.binarySearch(days, epochDay);
+            if (index < 0) {
+                index = Math.max(-index - 2, 0);
+            }
+            return rates[index];
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.finance.tracker.dashboard.controller;
+
+import com.finance.tracker.common.dto.ApiResponse;
+import com.finance.tracker.dashboard.dto.DashboardSummaryV2DTO;
+import com.finance.tracker.dashboard.enumeration.DashboardSection;
+import com.finance.tracker.dashboard.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v2/dashboard")
+@RequiredArgsConstructor
+public class DashboardV2Controller {
+    
+    private final DashboardService dashboardService;
+    
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<DashboardSummaryV2DTO>> getSummary(
+            @RequestParam String userId,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false) Set<DashboardSection> include) {
+        Set<DashboardSection> sections = include == null || include.isEmpty()
+                ? EnumSet.noneOf(DashboardSection.class)
+                : EnumSet.copyOf(include);
+        DashboardSummaryV2DTO summary = dashboardService.getSummary(userId, page, size, sections);
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
+}
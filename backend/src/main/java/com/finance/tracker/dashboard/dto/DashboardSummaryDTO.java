@@ -1,5 +1,6 @@
 package com.finance.tracker.dashboard.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.finance.tracker.common.dto.PaginatedResponse;
 import com.finance.tracker.transaction.dto.TransactionDTO;
 import lombok.AllArgsConstructor;
@@ -19,5 +20,10 @@ public class DashboardSummaryDTO {
     private Double previousMonthExpense;
     private List<TransactionDTO> transactions;
     private PaginatedResponse<TransactionDTO> monthWiseTransactions;
+    
+    /**
+     * Optional sections that failed or timed out and were left out of this response.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> unavailableSections;
 }
-
@@ -0,0 +1,40 @@
+package com.finance.tracker.dashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.finance.tracker.common.dto.PaginatedResponse;
+import com.finance.tracker.transaction.dto.TransactionListItemDTO;
+import com.finance.tracker.user.dto.UserDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Aggregates plus the current month page. {@code user} and {@code transactions}
+ * are only present when requested through {@code include}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummaryV2DTO {
+    private Double totalIncome;
+    private Double totalExpense;
+    private Double savings;
+    private Double savingsPercentage;
+    private Double previousMonthExpense;
+    private Double currentMonthExpense;
+    private PaginatedResponse<TransactionListItemDTO> monthWiseTransactions;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserDTO user;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TransactionListItemDTO> transactions;
+    
+    /**
+     * Optional sections that failed or timed out and were left out of this response.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> unavailableSections;
+}
@@ -0,0 +1,15 @@
+package com.finance.tracker.dashboard.enumeration;
+
+/**
+ * Optional, heavier parts of the v2 dashboard summary, requested through {@code include}.
+ */
+public enum DashboardSection {
+    /**
+     * The user's profile, once for the whole response.
+     */
+    USER,
+    /**
+     * Every transaction the user has made. Grows with the ledger; prefer the export endpoint.
+     */
+    TRANSACTIONS
+}
@@ -2,7 +2,10 @@ package com.finance.tracker.dashboard.mapper;
 
 import com.finance.tracker.common.dto.PaginatedResponse;
 import com.finance.tracker.dashboard.dto.DashboardSummaryDTO;
+import com.finance.tracker.dashboard.dto.DashboardSummaryV2DTO;
 import com.finance.tracker.transaction.dto.TransactionDTO;
+import com.finance.tracker.transaction.dto.TransactionListItemDTO;
+import com.finance.tracker.user.dto.UserDTO;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -42,5 +45,32 @@ public class DashboardMapper {
         
         return dto;
     }
+    
+    /**
+     * Maps the v2 summary. Optional sections stay null when they were not requested.
+     */
+    public DashboardSummaryV2DTO toV2DTO(
+            Double totalIncome,
+            Double totalExpense,
+            Double savings,
+            Double savingsPercentage,
+            Double previousMonthExpense,
+            Double currentMonthExpense,
+            PaginatedResponse<TransactionListItemDTO> monthWiseTransactions,
+            UserDTO user,
+            List<TransactionListItemDTO> transactions) {
+        
+        DashboardSummaryV2DTO dto = new DashboardSummaryV2DTO();
+        dto.setTotalIncome(totalIncome != null ? totalIncome : 0.0);
+        dto.setTotalExpense(totalExpense != null ? totalExpense : 0.0);
+        dto.setSavings(savings != null ? savings : 0.0);
+        dto.setSavingsPercentage(savingsPercentage);
+        dto.setPreviousMonthExpense(previousMonthExpense != null ? previousMonthExpense : 0.0);
+        dto.setCurrentMonthExpense(currentMonthExpense != null ? currentMonthExpense : 0.0);
+        dto.setMonthWiseTransactions(monthWiseTransactions);
+        dto.setUser(user);
+        dto.setTransactions(transactions);
+        
+        return dto;
+    }
 }
-
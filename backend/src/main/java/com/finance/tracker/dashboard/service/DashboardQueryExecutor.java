@@ -0,0 +1,213 @@
+package com.finance.tracker.dashboard.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent reads behind one dashboard response.
+ *
+ * With {@code dashboard.fanout.enabled} every sub-query is started immediately on the
+ * dashboard pool and the response waits only for the slowest one; otherwise they run
+ * one after another on the request thread. In parallel mode the response waits at
+ * most {@code dashboard.fanout.timeout-ms} for each sub-query; the reads themselves
+ * carry a matching Mongo maxTimeMS ({@code QueryTimeouts}), so a timed-out query
+ * also releases its pool thread. When the pool and its queue are full, a sub-query
+ * fails immediately instead of running on the request thread.
+ *
+ * Metrics:
+ * - dashboard.subquery (section, outcome): duration of each sub-query;
+ *   outcome is success, error, timeout or rejected
+ * - dashboard.summary (mode): end-to-end duration of a fan-out
+ * - dashboard.critical.path (section): the slowest sub-query of each response
+ */
+@Component
+public class DashboardQueryExecutor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardQueryExecutor.class);
+    
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final boolean parallel;
+    private final long timeoutMillis;
+    
+    public DashboardQueryExecutor(
+            @Qualifier("dashboardExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.fanout.enabled:true}") boolean parallel,
+            @Value("${dashboard.fanout.timeout-ms:2000}") long timeoutMillis) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.parallel = parallel;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    public Fanout start() {
+        return new Fanout();
+    }
+    
+    /**
+     * The sub-queries of one response.
+     */
+    public final class Fanout {
+        
+        private final long startedAt = System.nanoTime();
+        private final List<SubQuery<?>> subQueries = new ArrayList<>();
+        private final List<String> unavailableSections = new ArrayList<>();
+        
+        private Fanout() {
+        }
+        
+        public <T> SubQuery<T> submit(String section, Supplier<T> query) {
+            SubQuery<T> subQuery = new SubQuery<>(section);
+            if (parallel) {
+                try {
+                    subQuery.future = CompletableFuture.supplyAsync(() -> subQuery.time(query), executor)
+                            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException ex) {
+                    subQuery.record("rejected", 0);
+                    subQuery.future = CompletableFuture.failedFuture(ex);
+                }
+            } else {
+                CompletableFuture<T> future = new CompletableFuture<>();
+                try {
+                    future.complete(subQuery.time(query));
+                } catch (RuntimeException ex) {
+                    future.completeExceptionally(ex);
+                }
+                subQuery.future = future;
+            }
+            subQueries.add(subQuery);
+            return subQuery;
+        }
+        
+        /**
+         * Run a sub-query on the request thread, without the fan-out timeout, while the
+         * submitted ones proceed on the pool. For sections that must never be degraded.
+         */
+        public <T> T runOnCaller(String section, Supplier<T> query) {
+            SubQuery<T> subQuery = new SubQuery<>(section);
+            subQueries.add(subQuery);
+            return subQuery.time(query);
+        }
+        
+        /**
+         * Result of a sub-query the response cannot do without.
+         *
+         * @throws RuntimeException the sub-query's failure, or a TimeoutException wrapped in CompletionException
+         */
+        public <T> T require(SubQuery<T> subQuery) {
+            try {
+                return subQuery.future.join();
+            } catch (CompletionException ex) {
+                subQuery.recordFailure(ex.getCause());
+                throw ex.getCause() instanceof RuntimeException runtime ? runtime : ex;
+            }
+        }
+        
+        /**
+         * Result of an optional sub-query, or {@code fallback} when it failed or timed out.
+         * Degraded sections are listed in {@link #getUnavailableSections()}.
+         */
+        public <T> T optional(SubQuery<T> subQuery, T fallback) {
+            try {
+                return subQuery.future.join();
+            } catch (CompletionException ex) {
+                subQuery.recordFailure(ex.getCause());
+                logger.warn("Dashboard section '{}' unavailable: {}", subQuery.section, ex.getCause().toString());
+                unavailableSections.add(subQuery.section);
+                return fallback;
+            }
+        }
+        
+        public List<String> getUnavailableSections() {
+            return unavailableSections;
+        }
+        
+        /**
+         * Record the end-to-end duration and the sub-query that bounded it.
+         */
+        public void finish() {
+            Timer.builder("dashboard.summary")
+                    .tag("mode", parallel ? "parallel" : "sequential")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            
+            SubQuery<?> slowest = null;
+            for (SubQuery<?> subQuery : subQueries) {
+                if (slowest == null || subQuery.elapsedNanos > slowest.elapsedNanos) {
+                    slowest = subQuery;
+                }
+            }
+            if (slowest != null) {
+                Timer.builder("dashboard.critical.path")
+                        .tag("section", slowest.section)
+                        .register(meterRegistry)
+                        .record(slowest.elapsedNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+    
+    /**
+     * Handle to a submitted sub-query.
+     */
+    public final class SubQuery<T> {
+        
+        private final String section;
+        private final long submittedAt = System.nanoTime();
+        private volatile long elapsedNanos;
+        private volatile boolean recorded;
+        private CompletableFuture<T> future;
+        
+        private SubQuery(String section) {
+            this.section = section;
+        }
+        
+        private T time(Supplier<T> query) {
+            long start = System.nanoTime();
+            String outcome = "success";
+            try {
+                return query.get();
+            } catch (RuntimeException ex) {
+                outcome = "error";
+                throw ex;
+            } finally {
+                elapsedNanos = System.nanoTime() - submittedAt;
+                record(outcome, System.nanoTime() - start);
+            }
+        }
+        
+        private void recordFailure(Throwable cause) {
+            if (cause instanceof TimeoutException) {
+                elapsedNanos = System.nanoTime() - submittedAt;
+                record("timeout", elapsedNanos);
+            }
+        }
+        
+        private synchronized void record(String outcome, long nanos) {
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            Timer.builder("dashboard.subquery")
+                    .tag("section", section)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
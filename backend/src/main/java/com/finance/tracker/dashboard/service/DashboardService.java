@@ -2,66 +2,163 @@ package com.finance.tracker.dashboard.service;
 
 import com.finance.tracker.common.dto.PaginatedResponse;
 import com.finance.tracker.common.util.DateTimeUtils;
+import com.finance.tracker.common.util.MoneyUtils;
 import com.finance.tracker.dashboard.dto.DashboardSummaryDTO;
+import com.finance.tracker.dashboard.dto.DashboardSummaryV2DTO;
+import com.finance.tracker.dashboard.enumeration.DashboardSection;
 import com.finance.tracker.dashboard.exception.DashboardDataException;
 import com.finance.tracker.dashboard.mapper.DashboardMapper;
+import com.finance.tracker.rollup.service.MonthlyRollupService;
 import com.finance.tracker.transaction.dto.TransactionDTO;
+import com.finance.tracker.transaction.dto.TransactionListItemDTO;
 import com.finance.tracker.transaction.service.TransactionService;
+import com.finance.tracker.user.dto.UserDTO;
+import com.finance.tracker.user.entity.User;
+import com.finance.tracker.user.mapper.UserMapper;
+import com.finance.tracker.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
-    
+
     private final TransactionService transactionService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserService userService;
+    private final UserMapper userMapper;
     private final DashboardMapper dashboardMapper;
-    
+    private final DashboardQueryExecutor dashboardQueryExecutor;
+
+    private static final String SECTION_TOTALS = "totals";
+    private static final String SECTION_MONTH_PAGE = "monthWiseTransactions";
+    private static final String SECTION_TRANSACTIONS = "transactions";
+    private static final String SECTION_USER = "user";
+
     public DashboardSummaryDTO getExpenseSummary(String userId, int page, int size) {
+        // Resolve the user once up front; every sub-query then reads it from the request context
+        userService.getUserById(userId);
         try {
-            // Calculate totals
-            Double totalIncome = transactionService.getTotalIncomeByUserId(userId);
-            Double totalExpense = transactionService.getTotalExpenseByUserId(userId);
-            
-            // Calculate savings
-            Double savings = (totalIncome != null ? totalIncome : 0.0) - (totalExpense != null ? totalExpense : 0.0);
-            
-            // Get previous month expense (using IST)
-            YearMonth currentMonth = YearMonth.now(DateTimeUtils.IST_ZONE);
-            YearMonth previousMonth = currentMonth.minusMonths(1);
-            Double previousMonthExpense = transactionService.getTotalExpenseForMonth(userId, previousMonth);
-            
-            // Calculate savings percentage
-            Double savingsPercentage = null;
-            if (previousMonthExpense != null && previousMonthExpense > 0) {
-                Double currentMonthExpense = transactionService.getTotalExpenseForMonth(userId, currentMonth);
-                if (currentMonthExpense != null) {
-                    savingsPercentage = ((previousMonthExpense - currentMonthExpense) / previousMonthExpense) * 100;
-                }
-            }
-            
-            // Get current month transactions with pagination
-            PaginatedResponse<TransactionDTO> monthWiseTransactions = transactionService.getCurrentMonthTransactions(userId, page, size);
-            
-            // Get all transactions for backward compatibility
-            List<TransactionDTO> transactions = transactionService.getAllTransactionsByUserId(userId);
-            
+            // Independent reads, run concurrently when fan-out is enabled
+            DashboardQueryExecutor.Fanout fanout = dashboardQueryExecutor.start();
+            DashboardQueryExecutor.SubQuery<Aggregates> aggregatesQuery =
+                fanout.submit(SECTION_TOTALS, () -> loadAggregates(userId));
+            DashboardQueryExecutor.SubQuery<PaginatedResponse<TransactionDTO>> monthPageQuery =
+                fanout.submit(SECTION_MONTH_PAGE, () -> transactionService.getCurrentMonthTransactions(userId, page, size));
+            // Get all transactions for backward compatibility. v1 clients do not read
+            // unavailableSections, so the full ledger is never degraded or timed out
+            List<TransactionDTO> transactions =
+                fanout.runOnCaller(SECTION_TRANSACTIONS, () -> transactionService.getAllTransactionsByUserId(userId));
+
+            Aggregates aggregates = fanout.require(aggregatesQuery);
+            PaginatedResponse<TransactionDTO> monthWiseTransactions =
+                fanout.optional(monthPageQuery, new PaginatedResponse<>(List.of(), page, size, 0));
+            fanout.finish();
+
             // Use mapper to map fields
-            return dashboardMapper.toDTO(
-                totalIncome != null ? totalIncome : 0.0,
-                totalExpense != null ? totalExpense : 0.0,
-                savings,
-                savingsPercentage,
-                previousMonthExpense != null ? previousMonthExpense : 0.0,
+            DashboardSummaryDTO dto = dashboardMapper.toDTO(
+                aggregates.totalIncome(),
+                aggregates.totalExpense(),
+                aggregates.savings(),
+                aggregates.savingsPercentage(),
+                aggregates.previousMonthExpense(),
                 transactions,
                 monthWiseTransactions
             );
+            dto.setUnavailableSections(fanout.getUnavailableSections());
+            return dto;
         } catch (Exception e) {
             throw new DashboardDataException("Failed to retrieve dashboard summary: " + e.getMessage(), e);
         }
     }
-}
 
+    /**
+     * Aggregates and the current month page only; the user profile and the full
+     * transaction list are loaded only when listed in {@code include}.
+     */
+    public DashboardSummaryV2DTO getSummary(String userId, int page, int size, Set<DashboardSection> include) {
+        User owner = userService.getUserById(userId);
+        try {
+            DashboardQueryExecutor.Fanout fanout = dashboardQueryExecutor.start();
+            DashboardQueryExecutor.SubQuery<Aggregates> aggregatesQuery =
+                fanout.submit(SECTION_TOTALS, () -> loadAggregates(userId));
+            DashboardQueryExecutor.SubQuery<PaginatedResponse<TransactionListItemDTO>> monthPageQuery =
+                fanout.submit(SECTION_MONTH_PAGE, () -> transactionService.getCurrentMonthTransactionItems(userId, page, size));
+            DashboardQueryExecutor.SubQuery<UserDTO> userQuery = include.contains(DashboardSection.USER)
+                ? fanout.submit(SECTION_USER, () -> userMapper.toDTO(owner))
+                : null;
+            DashboardQueryExecutor.SubQuery<List<TransactionListItemDTO>> transactionsQuery = include.contains(DashboardSection.TRANSACTIONS)
+                ? fanout.submit(SECTION_TRANSACTIONS, () -> transactionService.getAllTransactionItemsByUserId(userId))
+                : null;
+
+            Aggregates aggregates = fanout.require(aggregatesQuery);
+            PaginatedResponse<TransactionListItemDTO> monthWiseTransactions =
+                fanout.optional(monthPageQuery, new PaginatedResponse<>(List.of(), page, size, 0));
+            UserDTO user = userQuery != null ? fanout.optional(userQuery, null) : null;
+            List<TransactionListItemDTO> transactions = transactionsQuery != null
+                ? fanout.optional(transactionsQuery, null)
+                : null;
+            fanout.finish();
+
+            DashboardSummaryV2DTO dto = dashboardMapper.toV2DTO(
+                aggregates.totalIncome(),
+                aggregates.totalExpense(),
+                aggregates.savings(),
+                aggregates.savingsPercentage(),
+                aggregates.previousMonthExpense(),
+                aggregates.currentMonthExpense(),
+                monthWiseTransactions,
+                user,
+                transactions
+            );
+            dto.setUnavailableSections(fanout.getUnavailableSections());
+            return dto;
+        } catch (Exception e) {
+            throw new DashboardDataException("Failed to retrieve dashboard summary: " + e.getMessage(), e);
+        }
+    }
+
+    private Aggregates loadAggregates(String userId) {
+        // Month boundaries (using IST)
+        YearMonth currentMonth = YearMonth.now(DateTimeUtils.IST_ZONE);
+        YearMonth previousMonth = currentMonth.minusMonths(1);
+
+        // Totals and month expenses from the monthly rollups, converted into the
+        // user's reporting currency
+        String reportingCurrency = userService.getUserById(userId).getCurrency();
+        MonthlyRollupService.Summary summary =
+            monthlyRollupService.summarize(userId, reportingCurrency, previousMonth, currentMonth);
+
+        // Exact long arithmetic in minor units; converted to currency units only for the response
+        long savingsMinor = summary.totalIncome() - summary.totalExpense();
+
+        // Calculate savings percentage
+        Double savingsPercentage = null;
+        if (summary.previousMonthExpense() > 0) {
+            savingsPercentage = ((double) (summary.previousMonthExpense() - summary.currentMonthExpense())
+                / summary.previousMonthExpense()) * 100;
+        }
+
+        return new Aggregates(
+            MoneyUtils.toMajor(summary.totalIncome()),
+            MoneyUtils.toMajor(summary.totalExpense()),
+            MoneyUtils.toMajor(savingsMinor),
+            savingsPercentage,
+            MoneyUtils.toMajor(summary.previousMonthExpense()),
+            MoneyUtils.toMajor(summary.currentMonthExpense()));
+    }
+
+    private record Aggregates(
+            Double totalIncome,
+            Double totalExpense,
+            Double savings,
+            Double savingsPercentage,
+            Double previousMonthExpense,
+            Double currentMonthExpense
+    ) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.finance.tracker.rollup.changelog;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Creates the monthly_rollups bucket index and backfills it from the existing ledger.
+ * The aggregation runs entirely on the server and writes its output with $merge.
+ */
+@ChangeUnit(id = "monthly-rollup-backfill", order = "007", author = "finance-tracker")
+public class MonthlyRollupBackfillChangelog {
+
+    private static final String COLLECTION = "monthly_rollups";
+    private static final String TRANSACTIONS_COLLECTION = "financial_transactions";
+    private static final String BUCKET_INDEX = "userId_1_yearMonth_1_transactionType_1_category_1";
+
+    @Execution
+    public void execution(MongoTemplate mongoTemplate) {
+        // $merge requires a unique index on its "on" fields
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("yearMonth", Sort.Direction.ASC)
+                .on("transactionType", Sort.Direction.ASC)
+                .on("category", Sort.Direction.ASC)
+                .unique()
+                .named(BUCKET_INDEX));
+
+        // LocalDate values are stored at midnight of the JVM's default zone
+        String timezone = ZoneId.systemDefault().getId();
+        List<Document> pipeline = List.of(
+            new Document("$group", new Document("_id", new Document()
+                    .append("userId", "$userId")
+                    .append("yearMonth", new Document("$dateToString", new Document()
+                            .append("format", "%Y-%m")
+                            .append("date", "$date")
+                            .append("timezone", timezone)))
+                    .append("transactionType", "$transactionType")
+                    .append("category", "$category"))
+                    .append("total", new Document("$sum", "$amount"))
+                    .append("count", new Document("$sum", 1))),
+            new Document("$project", new Document()
+                    .append("_id", 0)
+                    .append("userId", "$_id.userId")
+                    .append("yearMonth", "$_id.yearMonth")
+                    .append("transactionType", "$_id.transactionType")
+                    .append("category", "$_id.category")
+                    .append("total", 1)
+                    .append("count", 1)),
+            new Document("$merge", new Document()
+                    .append("into", COLLECTION)
+                    .append("on", List.of("userId", "yearMonth", "transactionType", "category"))
+                    .append("whenMatched", "replace")
+                    .append("whenNotMatched", "insert"))
+        );
+        mongoTemplate.getCollection(TRANSACTIONS_COLLECTION)
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .toCollection();
+    }
+
+    @RollbackExecution
+    public void rollback(MongoTemplate mongoTemplate) {
+        mongoTemplate.dropCollection(COLLECTION);
+    }
+}
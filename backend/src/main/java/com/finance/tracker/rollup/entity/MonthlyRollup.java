@@ -0,0 +1,49 @@
+package com.finance.tracker.rollup.entity;
+
+import com.finance.tracker.transaction.enumeration.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Running sum and count of a user's transactions for one
+ * (month, transaction type, category, currency) bucket, in that currency.
+ * Maintained incrementally with $inc on every ledger write; see MonthlyRollupService.
+ */
+@Document(collection = "monthly_rollups")
+@CompoundIndex(
+    name = "userId_1_yearMonth_1_transactionType_1_category_1_currency_1",
+    def = "{ 'userId': 1, 'yearMonth': 1, 'transactionType': 1, 'category': 1, 'currency': 1 }",
+    unique = true
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollup {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    /**
+     * Month in ISO format (yyyy-MM), so buckets sort chronologically.
+     */
+    private String yearMonth;
+
+    private TransactionType transactionType;
+
+    private String category;
+
+    private String currency;
+
+    /**
+     * Sum of the bucket's amounts in minor units.
+     */
+    private long totalMinor;
+
+    private long count;
+}
@@ -0,0 +1,39 @@
+package com.finance.tracker.rollup.repository;
+
+import com.finance.tracker.common.util.QueryTimeouts;
+import com.finance.tracker.rollup.entity.MonthlyRollup;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends MongoRepository<MonthlyRollup, String> {
+    
+    List<MonthlyRollup> findByUserId(String userId);
+    
+    /**
+     * The user's buckets summed per (type, month, currency), grouped by currency so
+     * conversion can walk the rows one currency at a time.
+     */
+    @Meta(maxExecutionTimeMs = QueryTimeouts.DASHBOARD_READ_MS)
+    @Aggregation(pipeline = {
+        "{ $match: { 'userId': ?0 } }",
+        "{ $group: { "
+            + "_id: { transactionType: '$transactionType', yearMonth: '$yearMonth', currency: '$currency' }, "
+            + "totalMinor: { $sum: '$totalMinor' } } }",
+        "{ $project: { _id: 0, transactionType: '$_id.transactionType', yearMonth: '$_id.yearMonth', "
+            + "currency: '$_id.currency', totalMinor: 1 } }",
+        "{ $sort: { currency: 1 } }"
+    })
+    List<RollupBucketTotal> sumByTypeMonthAndCurrency(String userId);
+    
+    @Aggregation(pipeline = {
+        "{ $match: { 'userId': ?0, 'yearMonth': ?1, 'transactionType': ?2 } }",
+        "{ $group: { _id: '$currency', totalMinor: { $sum: '$totalMinor' } } }",
+        "{ $project: { _id: 0, transactionType: { $literal: ?2 }, yearMonth: { $literal: ?1 }, currency: '$_id', totalMinor: 1 } }"
+    })
+    List<RollupBucketTotal> sumByUserIdAndYearMonthAndTypePerCurrency(String userId, String yearMonth, String transactionType);
+}
@@ -0,0 +1,20 @@
+package com.finance.tracker.rollup.repository;
+
+import com.finance.tracker.transaction.enumeration.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sum of a user's rollup buckets for one (transaction type, month, currency),
+ * in minor units of that currency.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupBucketTotal {
+    private TransactionType transactionType;
+    private String yearMonth;
+    private String currency;
+    private long totalMinor;
+}
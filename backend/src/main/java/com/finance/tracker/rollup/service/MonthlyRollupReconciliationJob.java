@@ -0,0 +1,88 @@
+package com.finance.tracker.rollup.service;
+
+import com.finance.tracker.common.lock.JobLockService;
+import com.finance.tracker.transaction.entity.FinancialTransaction;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Periodically checks every user's monthly rollups against the raw ledger
+ * and repairs any drift left behind by failed or interleaved rollup writes.
+ * Only the instance holding the job lock runs it.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyRollupReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyRollupReconciliationJob.class);
+
+    private static final String LOCK_NAME = "monthly-rollup-reconciliation";
+
+    private final MonthlyRollupService monthlyRollupService;
+    private final MongoTemplate mongoTemplate;
+    private final JobLockService jobLockService;
+
+    @Value("${rollup.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rollup.reconciliation.lock-ttl:2h}")
+    private Duration lockTtl;
+
+    @Scheduled(cron = "${rollup.reconciliation.cron:0 30 3 * * *}", zone = "Asia/Kolkata")
+    public void reconcileAll() {
+        if (!enabled) {
+            return;
+        }
+        if (!jobLockService.tryAcquire(LOCK_NAME, lockTtl)) {
+            logger.info("Monthly rollup reconciliation is running on another instance; skipping");
+            return;
+        }
+        try {
+            reconcileUsers();
+        } finally {
+            jobLockService.release(LOCK_NAME);
+        }
+    }
+
+    private void reconcileUsers() {
+        // Users with ledger entries, plus users left with only stale rollups, read
+        // through a cursor rather than one distinct result document
+        Aggregation userIds = Aggregation.newAggregation(
+                Aggregation.project("userId"),
+                UnionWithOperation.unionWith("monthly_rollups").pipeline(Aggregation.project("userId")),
+                Aggregation.group("userId")
+            ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        int users = 0;
+        int repaired = 0;
+        try (Stream<Document> results = mongoTemplate.aggregateStream(userIds, FinancialTransaction.class, Document.class)) {
+            Iterator<Document> cursor = results.iterator();
+            while (cursor.hasNext()) {
+                String userId = cursor.next().getString("_id");
+                if (userId == null) {
+                    continue;
+                }
+                users++;
+                try {
+                    repaired += monthlyRollupService.reconcile(userId);
+                } catch (Exception ex) {
+                    logger.error("Monthly rollup reconciliation failed for user {}", userId, ex);
+                }
+            }
+        }
+        logger.info("Monthly rollup reconciliation checked {} user(s), repaired {} bucket(s)", users, repaired);
+    }
+}
@@ -0,0 +1,378 @@
+package com.finance.tracker.rollup.service;
+
+import com.finance.tracker.common.util.DateTimeUtils;
+import com.finance.tracker.common.util.MoneyUtils;
+import com.finance.tracker.currency.service.FxRateTable;
+import com.finance.tracker.rollup.entity.MonthlyRollup;
+import com.finance.tracker.rollup.repository.MonthlyRollupRepository;
+import com.finance.tracker.rollup.repository.RollupBucketTotal;
+import com.finance.tracker.transaction.entity.FinancialTransaction;
+import com.finance.tracker.transaction.enumeration.TransactionType;
+import com.finance.tracker.transaction.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the monthly_rollups collection.
+ *
+ * Every ledger write is mirrored as an atomic $inc upsert on the affected
+ * (userId, yearMonth, transactionType, category, currency) bucket, so dashboard reads cost
+ * O(months) instead of O(transactions). Rollup writes never fail the ledger write
+ * they mirror; any drift they leave behind is repaired by {@link #reconcile(String)}.
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyRollupService.class);
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final MongoTemplate mongoTemplate;
+    private final FxRateTable fxRateTable;
+
+    // ========== Incremental Maintenance ==========
+
+    public void recordCreated(FinancialTransaction transaction) {
+        apply(Contribution.of(transaction), 1);
+    }
+
+    /**
+     * Record a batch of created transactions. Contributions to the same bucket are
+     * combined first, then applied with a single unordered bulk of $inc upserts.
+     */
+    public void recordCreated(Collection<FinancialTransaction> transactions) {
+        Map<String, BucketDelta> deltas = new LinkedHashMap<>();
+        for (FinancialTransaction transaction : transactions) {
+            Contribution contribution = Contribution.of(transaction);
+            BucketDelta delta = deltas.computeIfAbsent(bucketKey(contribution), key -> new BucketDelta(contribution));
+            delta.amountMinor += contribution.amountMinor();
+            delta.count++;
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MonthlyRollup.class);
+        for (BucketDelta delta : deltas.values()) {
+            Contribution bucket = delta.bucket;
+            bulk.upsert(
+                bucketQuery(bucket.userId(), bucket.yearMonth(), bucket.transactionType(), bucket.category(), bucket.currency()),
+                new Update().inc("totalMinor", delta.amountMinor).inc("count", delta.count)
+            );
+        }
+        try {
+            bulk.execute();
+        } catch (DataAccessException ex) {
+            logger.error("Failed to update {} monthly rollup bucket(s); they will be repaired by reconciliation",
+                    deltas.size(), ex);
+        }
+    }
+
+    public void recordDeleted(FinancialTransaction transaction) {
+        apply(Contribution.of(transaction), -1);
+    }
+
+    /**
+     * Move a transaction's contribution from its old bucket to its new one.
+     * When the bucket is unchanged only the amount difference is applied.
+     *
+     * @param before contribution captured before the transaction was modified
+     * @param after the saved transaction
+     */
+    public void recordUpdated(Contribution before, FinancialTransaction after) {
+        Contribution updated = Contribution.of(after);
+        if (before.sameBucket(updated)) {
+            long difference = updated.amountMinor() - before.amountMinor();
+            if (difference != 0) {
+                increment(before, difference, 0);
+            }
+            return;
+        }
+        apply(before, -1);
+        apply(updated, 1);
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        increment(contribution, sign * contribution.amountMinor(), sign);
+    }
+
+    private void increment(Contribution contribution, long amountMinor, long count) {
+        try {
+            mongoTemplate.upsert(
+                bucketQuery(contribution.userId(), contribution.yearMonth(), contribution.transactionType(),
+                        contribution.category(), contribution.currency()),
+                new Update().inc("totalMinor", amountMinor).inc("count", count),
+                MonthlyRollup.class
+            );
+        } catch (DataAccessException ex) {
+            logger.error("Failed to update monthly rollup for user {} ({}); it will be repaired by reconciliation",
+                    contribution.userId(), contribution.yearMonth(), ex);
+        }
+    }
+
+    // ========== Reads ==========
+
+    /**
+     * Lifetime totals plus the previous and current month expense, in minor units of
+     * {@code reportingCurrency}. Buckets are summed per currency in Mongo and the sums
+     * converted in one batch; each month is converted at the rate in effect on its
+     * last day, or today for the current month. Sums already in the reporting
+     * currency pass through unchanged, so they stay exact.
+     */
+    public Summary summarize(String userId, String reportingCurrency, YearMonth previousMonth, YearMonth currentMonth) {
+        List<RollupBucketTotal> rows = monthlyRollupRepository.sumByTypeMonthAndCurrency(userId);
+        long[] converted = toReportingCurrency(rows, reportingCurrency);
+
+        String previous = previousMonth.toString();
+        String current = currentMonth.toString();
+        long totalIncome = 0;
+        long totalExpense = 0;
+        long previousMonthExpense = 0;
+        long currentMonthExpense = 0;
+        for (int i = 0; i < converted.length; i++) {
+            RollupBucketTotal row = rows.get(i);
+            if (row.getTransactionType() == TransactionType.INCOME) {
+                totalIncome += converted[i];
+            } else if (row.getTransactionType() == TransactionType.EXPENSE) {
+                totalExpense += converted[i];
+                if (previous.equals(row.getYearMonth())) {
+                    previousMonthExpense += converted[i];
+                } else if (current.equals(row.getYearMonth())) {
+                    currentMonthExpense += converted[i];
+                }
+            }
+        }
+        return new Summary(totalIncome, totalExpense, previousMonthExpense, currentMonthExpense);
+    }
+
+    public Double getExpenseForMonth(String userId, YearMonth yearMonth, String reportingCurrency) {
+        List<RollupBucketTotal> rows = monthlyRollupRepository.sumByUserIdAndYearMonthAndTypePerCurrency(
+            userId, yearMonth.toString(), TransactionType.EXPENSE.name());
+        long totalMinor = 0;
+        for (long amountMinor : toReportingCurrency(rows, reportingCurrency)) {
+            totalMinor += amountMinor;
+        }
+        return MoneyUtils.toMajor(totalMinor);
+    }
+
+    /**
+     * Currencies the user has non-empty buckets in, i.e. those their ledger holds.
+     */
+    public List<String> findCurrencies(String userId) {
+        return mongoTemplate.findDistinct(
+            Query.query(Criteria.where("userId").is(userId).and("count").gt(0)),
+            "currency", MonthlyRollup.class, String.class);
+    }
+
+    private long[] toReportingCurrency(List<RollupBucketTotal> rows, String reportingCurrency) {
+        int size = rows.size();
+        String[] currencies = new String[size];
+        long[] epochDays = new long[size];
+        double[] amounts = new double[size];
+        LocalDate today = LocalDate.now(DateTimeUtils.IST_ZONE);
+        for (int i = 0; i < size; i++) {
+            RollupBucketTotal row = rows.get(i);
+            LocalDate rateDate = YearMonth.parse(row.getYearMonth()).atEndOfMonth();
+            currencies[i] = row.getCurrency();
+            epochDays[i] = (rateDate.isAfter(today) ? today : rateDate).toEpochDay();
+            amounts[i] = row.getTotalMinor();
+        }
+        double[] converted = fxRateTable.convert(currencies, epochDays, amounts, reportingCurrency);
+        // Identity conversions return the input, which round-trips exactly below 2^53
+        long[] convertedMinor = new long[size];
+        for (int i = 0; i < size; i++) {
+            convertedMinor[i] = Math.round(converted[i]);
+        }
+        return convertedMinor;
+    }
+
+    // ========== Reconciliation ==========
+
+    /**
+     * Recompute a user's buckets from the raw ledger and repair every stored bucket
+     * that has drifted, is missing, or no longer has any transactions behind it.
+     *
+     * Stored buckets are read before the ledger is aggregated, and every repair only
+     * applies while the bucket still holds the values that were read. A bucket that
+     * a concurrent write changed in the meantime is left alone for the next run, so
+     * reconciliation never overwrites a live $inc.
+     *
+     * @return number of buckets repaired
+     */
+    public int reconcile(String userId) {
+        List<MonthlyRollup> storedBuckets = monthlyRollupRepository.findByUserId(userId);
+        Map<String, MonthlyRollup> expected = new HashMap<>();
+        for (MonthlyRollup rollup : transactionRepository.aggregateMonthlyRollups(userId, ZoneId.systemDefault().getId())) {
+            expected.put(bucketKey(rollup), rollup);
+        }
+
+        int repaired = 0;
+        int skipped = 0;
+        for (MonthlyRollup stored : storedBuckets) {
+            MonthlyRollup recomputed = expected.remove(bucketKey(stored));
+            if (recomputed == null) {
+                if (mongoTemplate.remove(unchangedQuery(stored), MonthlyRollup.class).getDeletedCount() == 0) {
+                    skipped++;
+                } else if (stored.getCount() != 0 || stored.getTotalMinor() != 0) {
+                    repaired++;
+                }
+            } else if (hasDrifted(stored, recomputed)) {
+                if (overwriteIfUnchanged(stored, recomputed)) {
+                    repaired++;
+                } else {
+                    skipped++;
+                }
+            }
+        }
+        for (MonthlyRollup missing : expected.values()) {
+            if (insertIfMissing(missing)) {
+                repaired++;
+            } else {
+                skipped++;
+            }
+        }
+
+        if (repaired > 0) {
+            logger.warn("Repaired {} drifted monthly rollup bucket(s) for user {}", repaired, userId);
+        }
+        if (skipped > 0) {
+            logger.info("Skipped {} monthly rollup bucket(s) for user {} that changed during reconciliation",
+                    skipped, userId);
+        }
+        return repaired;
+    }
+
+    private boolean hasDrifted(MonthlyRollup stored, MonthlyRollup recomputed) {
+        return stored.getCount() != recomputed.getCount()
+                || stored.getTotalMinor() != recomputed.getTotalMinor();
+    }
+
+    private boolean overwriteIfUnchanged(MonthlyRollup stored, MonthlyRollup recomputed) {
+        return mongoTemplate.updateFirst(
+            unchangedQuery(stored),
+            new Update().set("totalMinor", recomputed.getTotalMinor()).set("count", recomputed.getCount()),
+            MonthlyRollup.class
+        ).getModifiedCount() > 0;
+    }
+
+    /**
+     * Insert a bucket that had no document when read; one created concurrently by an
+     * $inc upsert is matched and left untouched.
+     */
+    private boolean insertIfMissing(MonthlyRollup rollup) {
+        try {
+            return mongoTemplate.upsert(
+                bucketQuery(rollup.getUserId(), rollup.getYearMonth(), rollup.getTransactionType(), rollup.getCategory(),
+                            rollup.getCurrency()),
+                new Update().setOnInsert("totalMinor", rollup.getTotalMinor()).setOnInsert("count", rollup.getCount()),
+                MonthlyRollup.class
+            ).getUpsertedId() != null;
+        } catch (DuplicateKeyException ex) {
+            // Lost the insert race to a concurrent $inc upsert
+            return false;
+        }
+    }
+
+    /**
+     * The stored bucket, matched only while it still holds the values that were read.
+     */
+    private Query unchangedQuery(MonthlyRollup stored) {
+        return Query.query(Criteria.where("_id").is(stored.getId())
+                .and("totalMinor").is(stored.getTotalMinor())
+                .and("count").is(stored.getCount()));
+    }
+
+    private Query bucketQuery(String userId, String yearMonth, TransactionType transactionType, String category,
+                              String currency) {
+        return Query.query(Criteria.where("userId").is(userId)
+                .and("yearMonth").is(yearMonth)
+                .and("transactionType").is(transactionType)
+                .and("category").is(category)
+                .and("currency").is(currency));
+    }
+
+    private String bucketKey(MonthlyRollup rollup) {
+        return rollup.getYearMonth() + "|" + rollup.getTransactionType() + "|" + rollup.getCategory()
+                + "|" + rollup.getCurrency();
+    }
+
+    private String bucketKey(Contribution contribution) {
+        return contribution.userId() + "|" + contribution.yearMonth() + "|"
+                + contribution.transactionType() + "|" + contribution.category() + "|" + contribution.currency();
+    }
+
+    /**
+     * Combined change to one bucket within a batch.
+     */
+    private static final class BucketDelta {
+        private final Contribution bucket;
+        private long amountMinor;
+        private long count;
+
+        private BucketDelta(Contribution bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * Rollup totals converted into a reporting currency, in minor units.
+     */
+    public record Summary(
+            long totalIncome,
+            long totalExpense,
+            long previousMonthExpense,
+            long currentMonthExpense
+    ) {
+    }
+
+    /**
+     * A transaction's contribution to its rollup bucket.
+     */
+    public record Contribution(
+            String userId,
+            String yearMonth,
+            TransactionType transactionType,
+            String category,
+            String currency,
+            long amountMinor
+    ) {
+        public static Contribution of(FinancialTransaction transaction) {
+            return new Contribution(
+                transaction.getUserId(),
+                YearMonth.from(transaction.getDate()).toString(),
+                transaction.getTransactionType(),
+                transaction.getCategory(),
+                transaction.getCurrency(),
+                transaction.getAmountMinor()
+            );
+        }
+
+        boolean sameBucket(Contribution other) {
+            return Objects.equals(userId, other.userId)
+                    && Objects.equals(yearMonth, other.yearMonth)
+                    && transactionType == other.transactionType
+                    && Objects.equals(category, other.category)
+                    && Objects.equals(currency, other.currency);
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package com.finance.tracker.security;
 
-import com.google.firebase.auth.FirebaseAuth;
+import com.finance.tracker.user.service.RequestUserContext;
 import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +16,14 @@ public class FirebaseIdTokenFilter extends OncePerRequestFilter {
 
     private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
 
+    private final RequestUserContext requestUserContext;
+    private final FirebaseTokenCache firebaseTokenCache;
+
+    public FirebaseIdTokenFilter(RequestUserContext requestUserContext, FirebaseTokenCache firebaseTokenCache) {
+        this.requestUserContext = requestUserContext;
+        this.firebaseTokenCache = firebaseTokenCache;
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         // Always allow CORS preflight
@@ -40,12 +47,19 @@ public class FirebaseIdTokenFilter extends OncePerRequestFilter {
         }
         String idToken = authHeader.substring("Bearer ".length()).trim();
         try {
-            FirebaseToken decoded = FirebaseAuth.getInstance().verifyIdToken(idToken);
+            // Verified tokens are cached until they expire
+            String uid = firebaseTokenCache.verify(idToken);
             // Optionally, attach UID as request attribute for downstream use
-            request.setAttribute("firebaseUid", decoded.getUid());
-            filterChain.doFilter(request, response);
+            request.setAttribute("firebaseUid", uid);
+            requestUserContext.open(request);
         } catch (FirebaseAuthException e) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            requestUserContext.close(request);
         }
     }
 }
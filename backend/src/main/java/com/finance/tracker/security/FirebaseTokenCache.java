@@ -0,0 +1,165 @@
+package com.finance.tracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Verified Firebase ID tokens, keyed by the SHA-256 of the token so raw tokens are
+ * never used as keys. A cached token is trusted until its {@code exp}, capped at
+ * {@code auth.token-cache.max-ttl}, so a repeat request skips signature verification.
+ *
+ * Revocation: with {@code auth.token-cache.check-revoked} every miss also asks
+ * Firebase whether the token was revoked. The app never revokes tokens or disables
+ * users itself, so the max TTL is the only bound on how long a token revoked in
+ * Firebase stays trusted here.
+ *
+ * The SDK refreshes Google's signing keys lazily when they are about to expire.
+ * {@link #refreshSigningKeys()} re-verifies one cached token in the background, so
+ * that refresh happens on the scheduler instead of on a user request.
+ *
+ * Metrics: cache.* (cache=firebase_tokens) and auth.token.verifications (result).
+ */
+@Component
+public class FirebaseTokenCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FirebaseTokenCache.class);
+    
+    private final Cache<String, VerifiedToken> cache;
+    private final Duration maxTtl;
+    private final boolean checkRevoked;
+    private final Counter validVerifications;
+    private final Counter invalidVerifications;
+    
+    /**
+     * Most recently verified token that is still valid; used only to keep the signing keys warm.
+     */
+    private volatile String warmupToken;
+    private volatile Instant warmupTokenExpiresAt = Instant.EPOCH;
+    
+    public FirebaseTokenCache(MeterRegistry meterRegistry,
+                              @Value("${auth.token-cache.max-size:50000}") long maxSize,
+                              @Value("${auth.token-cache.max-ttl:5m}") Duration maxTtl,
+                              @Value("${auth.token-cache.check-revoked:false}") boolean checkRevoked) {
+        this.maxTtl = maxTtl;
+        this.checkRevoked = checkRevoked;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "firebase_tokens");
+        this.validVerifications = Counter.builder("auth.token.verifications").tag("result", "valid").register(meterRegistry);
+        this.invalidVerifications = Counter.builder("auth.token.verifications").tag("result", "invalid").register(meterRegistry);
+    }
+    
+    /**
+     * UID of a valid token, verifying it with Firebase only when it is not cached.
+     *
+     * @throws FirebaseAuthException if the token is invalid, expired or revoked
+     */
+    public String verify(String idToken) throws FirebaseAuthException {
+        String key = hash(idToken);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.uid();
+        }
+        
+        FirebaseToken decoded;
+        try {
+            decoded = FirebaseAuth.getInstance().verifyIdToken(idToken, checkRevoked);
+        } catch (FirebaseAuthException ex) {
+            invalidVerifications.increment();
+            throw ex;
+        }
+        validVerifications.increment();
+        
+        Instant expiresAt = expiryOf(decoded);
+        cache.put(key, new VerifiedToken(decoded.getUid(), expiresAt));
+        if (expiresAt.isAfter(warmupTokenExpiresAt)) {
+            warmupToken = idToken;
+            warmupTokenExpiresAt = expiresAt;
+        }
+        return decoded.getUid();
+    }
+    
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    @Scheduled(fixedDelayString = "${auth.token-cache.key-refresh-interval-ms:60000}",
+               initialDelayString = "${auth.token-cache.key-refresh-interval-ms:60000}")
+    public void refreshSigningKeys() {
+        String token = warmupToken;
+        // Keep a margin so the token does not expire between this check and verification
+        if (token == null || warmupTokenExpiresAt.isBefore(Instant.now().plusSeconds(30))) {
+            return;
+        }
+        try {
+            FirebaseAuth.getInstance().verifyIdToken(token, false);
+        } catch (Exception ex) {
+            logger.debug("Background Firebase signing key refresh failed: {}", ex.getMessage());
+        }
+    }
+    
+    private Instant expiryOf(FirebaseToken token) {
+        Instant cap = Instant.now().plus(maxTtl);
+        Object exp = token.getClaims().get("exp");
+        if (exp instanceof Number seconds) {
+            Instant expiresAt = Instant.ofEpochSecond(seconds.longValue());
+            return expiresAt.isBefore(cap) ? expiresAt : cap;
+        }
+        return cap;
+    }
+    
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+    
+    private record VerifiedToken(String uid, Instant expiresAt) {
+    }
+    
+    /**
+     * Evicts each entry when its token expires.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.finance.tracker.security;
 
+import com.finance.tracker.user.service.RequestUserContext;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,10 +9,11 @@ import org.springframework.context.annotation.Configuration;
 public class SecurityConfig {
 
     @Bean
-    public FilterRegistrationBean<FirebaseIdTokenFilter> firebaseIdTokenFilterRegistration() {
+    public FilterRegistrationBean<FirebaseIdTokenFilter> firebaseIdTokenFilterRegistration(
+            RequestUserContext requestUserContext, FirebaseTokenCache firebaseTokenCache) {
         FilterRegistrationBean<FirebaseIdTokenFilter> registration = new FilterRegistrationBean<>();
-        registration.setFilter(new FirebaseIdTokenFilter());
-        registration.addUrlPatterns("/api/v1/*");
+        registration.setFilter(new FirebaseIdTokenFilter(requestUserContext, firebaseTokenCache));
+        registration.addUrlPatterns("/api/v1/*", "/api/v2/*");
         registration.setOrder(1);
         return registration;
     }
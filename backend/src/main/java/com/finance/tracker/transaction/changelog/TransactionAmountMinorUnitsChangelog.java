@@ -0,0 +1,94 @@
+package com.finance.tracker.transaction.changelog;
+
+import com.mongodb.client.model.Filters;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Converts transaction amounts from double to exact long minor units
+ * ({@code amount} to {@code amountMinor}) and rebuilds every monthly rollup from the
+ * converted ledger, so stored totals reconcile to the last minor unit.
+ */
+@ChangeUnit(id = "transaction-amount-minor-units", order = "011", author = "finance-tracker")
+public class TransactionAmountMinorUnitsChangelog {
+
+    private static final String TRANSACTIONS_COLLECTION = "financial_transactions";
+    private static final String ROLLUPS_COLLECTION = "monthly_rollups";
+    private static final List<String> BUCKET_FIELDS =
+            List.of("userId", "yearMonth", "transactionType", "category", "currency");
+
+    @Execution
+    public void execution(MongoTemplate mongoTemplate) {
+        // Scale through Decimal128 so values like 0.29 do not land on 28.999...
+        mongoTemplate.getCollection(TRANSACTIONS_COLLECTION).updateMany(
+                Filters.exists("amount"),
+                List.of(
+                    new Document("$set", new Document("amountMinor", new Document("$toLong",
+                            new Document("$round", List.of(
+                                    new Document("$multiply", List.of(new Document("$toDecimal", "$amount"), 100)),
+                                    0))))),
+                    new Document("$unset", "amount")));
+
+        rebuildRollups(mongoTemplate, "totalMinor", "$amountMinor");
+    }
+
+    /**
+     * Replace every rollup bucket with one recomputed from the ledger on the server.
+     */
+    private void rebuildRollups(MongoTemplate mongoTemplate, String totalField, String amountExpression) {
+        mongoTemplate.getCollection(ROLLUPS_COLLECTION).deleteMany(new Document());
+
+        // LocalDate values are stored at midnight of the JVM's default zone
+        String timezone = ZoneId.systemDefault().getId();
+        Document bucket = new Document()
+                .append("userId", "$userId")
+                .append("yearMonth", new Document("$dateToString", new Document()
+                        .append("format", "%Y-%m")
+                        .append("date", "$date")
+                        .append("timezone", timezone)))
+                .append("transactionType", "$transactionType")
+                .append("category", "$category")
+                .append("currency", "$currency");
+        Document projection = new Document("_id", 0);
+        for (String field : BUCKET_FIELDS) {
+            projection.append(field, "$_id." + field);
+        }
+        projection.append(totalField, 1).append("count", 1);
+
+        List<Document> pipeline = List.of(
+            // Every owned transaction carries a currency since change unit 010
+            new Document("$match", new Document("currency", new Document("$exists", true))),
+            new Document("$group", new Document("_id", bucket)
+                    .append(totalField, new Document("$sum", amountExpression))
+                    .append("count", new Document("$sum", 1))),
+            new Document("$project", projection),
+            new Document("$merge", new Document()
+                    .append("into", ROLLUPS_COLLECTION)
+                    .append("on", BUCKET_FIELDS)
+                    .append("whenMatched", "replace")
+                    .append("whenNotMatched", "insert"))
+        );
+        mongoTemplate.getCollection(TRANSACTIONS_COLLECTION)
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .toCollection();
+    }
+
+    @RollbackExecution
+    public void rollback(MongoTemplate mongoTemplate) {
+        mongoTemplate.getCollection(TRANSACTIONS_COLLECTION).updateMany(
+                Filters.exists("amountMinor"),
+                List.of(
+                    new Document("$set", new Document("amount",
+                            new Document("$divide", List.of("$amountMinor", 100)))),
+                    new Document("$unset", "amountMinor")));
+
+        rebuildRollups(mongoTemplate, "total", "$amount");
+    }
+}
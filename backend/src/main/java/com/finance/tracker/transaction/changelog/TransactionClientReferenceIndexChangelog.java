@@ -0,0 +1,34 @@
+package com.finance.tracker.transaction.changelog;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+@ChangeUnit(id = "transaction-client-reference-index", order = "008", author = "finance-tracker")
+public class TransactionClientReferenceIndexChangelog {
+
+    private static final String COLLECTION = "financial_transactions";
+    private static final String INDEX_NAME = "userId_1_clientReferenceId_1";
+
+    @Execution
+    public void execution(MongoTemplate mongoTemplate) {
+        // Idempotency key for bulk creates. Partial, so transactions created without
+        // a clientReferenceId are neither indexed nor constrained.
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("clientReferenceId", Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where("clientReferenceId").exists(true)))
+                .named(INDEX_NAME));
+    }
+
+    @RollbackExecution
+    public void rollback(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps(COLLECTION).dropIndex(INDEX_NAME);
+    }
+}
@@ -0,0 +1,111 @@
+package com.finance.tracker.transaction.changelog;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stamps every existing transaction and rollup bucket with its owner's currency,
+ * which was the only currency a user could record in until now, and adds the
+ * currency to the rollup bucket key.
+ */
+@ChangeUnit(id = "transaction-currency-migration", order = "010", author = "finance-tracker")
+public class TransactionCurrencyMigrationChangelog {
+
+    private static final String USERS_COLLECTION = "users";
+    private static final String TRANSACTIONS_COLLECTION = "financial_transactions";
+    private static final String ROLLUPS_COLLECTION = "monthly_rollups";
+    private static final String CURRENCY_FIELD = "currency";
+    private static final String DEFAULT_CURRENCY = "INR";
+    private static final String LEGACY_BUCKET_INDEX = "userId_1_yearMonth_1_transactionType_1_category_1";
+    private static final String BUCKET_INDEX = "userId_1_yearMonth_1_transactionType_1_category_1_currency_1";
+    private static final int BATCH_SIZE = 500;
+
+    @Execution
+    public void execution(MongoTemplate mongoTemplate) {
+        MongoCollection<Document> users = mongoTemplate.getCollection(USERS_COLLECTION);
+        users.updateMany(Filters.exists(CURRENCY_FIELD, false), Updates.set(CURRENCY_FIELD, DEFAULT_CURRENCY));
+
+        MongoCollection<Document> transactions = mongoTemplate.getCollection(TRANSACTIONS_COLLECTION);
+        MongoCollection<Document> rollups = mongoTemplate.getCollection(ROLLUPS_COLLECTION);
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        try (MongoCursor<Document> cursor = users.find()
+                .projection(Projections.include(CURRENCY_FIELD))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document user = cursor.next();
+                String currency = user.getString(CURRENCY_FIELD);
+                batch.add(new UpdateManyModel<>(
+                        Filters.and(Filters.eq("userId", user.get("_id").toString()), Filters.exists(CURRENCY_FIELD, false)),
+                        Updates.set(CURRENCY_FIELD, currency != null ? currency : DEFAULT_CURRENCY)));
+                if (batch.size() == BATCH_SIZE) {
+                    flush(transactions, rollups, batch);
+                }
+            }
+        }
+        flush(transactions, rollups, batch);
+
+        IndexOperations indexOps = mongoTemplate.indexOps(ROLLUPS_COLLECTION);
+        tryDropIndex(indexOps, LEGACY_BUCKET_INDEX);
+        indexOps.ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("yearMonth", Sort.Direction.ASC)
+                .on("transactionType", Sort.Direction.ASC)
+                .on("category", Sort.Direction.ASC)
+                .on(CURRENCY_FIELD, Sort.Direction.ASC)
+                .unique()
+                .named(BUCKET_INDEX));
+    }
+
+    private void flush(MongoCollection<Document> transactions, MongoCollection<Document> rollups,
+                       List<WriteModel<Document>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactions.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        rollups.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        batch.clear();
+    }
+
+    private void tryDropIndex(IndexOperations indexOps, String name) {
+        try {
+            indexOps.dropIndex(name);
+        } catch (Exception ignored) {
+        }
+    }
+
+    @RollbackExecution
+    public void rollback(MongoTemplate mongoTemplate) {
+        // Only valid while every user still records in a single currency
+        IndexOperations indexOps = mongoTemplate.indexOps(ROLLUPS_COLLECTION);
+        tryDropIndex(indexOps, BUCKET_INDEX);
+        mongoTemplate.getCollection(TRANSACTIONS_COLLECTION)
+                .updateMany(Filters.exists(CURRENCY_FIELD), Updates.unset(CURRENCY_FIELD));
+        mongoTemplate.getCollection(ROLLUPS_COLLECTION)
+                .updateMany(Filters.exists(CURRENCY_FIELD), Updates.unset(CURRENCY_FIELD));
+        indexOps.ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("yearMonth", Sort.Direction.ASC)
+                .on("transactionType", Sort.Direction.ASC)
+                .on("category", Sort.Direction.ASC)
+                .unique()
+                .named(LEGACY_BUCKET_INDEX));
+    }
+}
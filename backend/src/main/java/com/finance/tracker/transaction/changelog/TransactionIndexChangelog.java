@@ -0,0 +1,29 @@
+package com.finance.tracker.transaction.changelog;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+@ChangeUnit(id = "transaction-user-index", order = "004", author = "finance-tracker")
+public class TransactionIndexChangelog {
+
+    private static final String COLLECTION = "financial_transactions";
+    private static final String USER_INDEX = "user_id_id_1";
+
+    @Execution
+    public void execution(MongoTemplate mongoTemplate) {
+        IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION);
+
+        // Backs the per-user $match of the totals aggregation and the user-scoped finders
+        indexOps.ensureIndex(new Index().on("user_id.$id", Sort.Direction.ASC).named(USER_INDEX));
+    }
+
+    @RollbackExecution
+    public void rollback(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps(COLLECTION).dropIndex(USER_INDEX);
+    }
+}
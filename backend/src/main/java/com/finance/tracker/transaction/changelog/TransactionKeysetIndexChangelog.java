@@ -0,0 +1,48 @@
+package com.finance.tracker.transaction.changelog;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+@ChangeUnit(id = "transaction-keyset-index", order = "006", author = "finance-tracker")
+public class TransactionKeysetIndexChangelog {
+
+    private static final String COLLECTION = "financial_transactions";
+    private static final String USER_DATE_INDEX = "userId_1_date_-1";
+    private static final String USER_DATE_ID_INDEX = "userId_1_date_-1__id_-1";
+
+    @Execution
+    public void execution(MongoTemplate mongoTemplate) {
+        IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION);
+
+        // (date, _id) keyset seeks and their sort are served straight from this index.
+        // It also covers every query the (userId, date) index served, so that one is dropped.
+        indexOps.ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("date", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named(USER_DATE_ID_INDEX));
+        tryDropIndex(indexOps, USER_DATE_INDEX);
+    }
+
+    private void tryDropIndex(IndexOperations indexOps, String name) {
+        try {
+            indexOps.dropIndex(name);
+        } catch (Exception ignored) {
+        }
+    }
+
+    @RollbackExecution
+    public void rollback(MongoTemplate mongoTemplate) {
+        IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION);
+        indexOps.ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("date", Sort.Direction.DESC)
+                .named(USER_DATE_INDEX));
+        tryDropIndex(indexOps, USER_DATE_ID_INDEX);
+    }
+}
@@ -0,0 +1,124 @@
+package com.finance.tracker.transaction.changelog;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites the {@code user_id} DBRef on every transaction to a plain {@code userId} string
+ * and replaces the DBRef index with a compound (userId, date desc) index.
+ */
+@ChangeUnit(id = "transaction-user-id-migration", order = "005", author = "finance-tracker")
+public class TransactionUserIdMigrationChangelog {
+
+    private static final String COLLECTION = "financial_transactions";
+    private static final String USERS_COLLECTION = "users";
+    private static final String LEGACY_FIELD = "user_id";
+    private static final String USER_ID_FIELD = "userId";
+    private static final String LEGACY_INDEX = "user_id_id_1";
+    private static final String USER_DATE_INDEX = "userId_1_date_-1";
+    private static final int BATCH_SIZE = 1000;
+
+    @Execution
+    public void execution(MongoTemplate mongoTemplate) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        try (MongoCursor<Document> cursor = collection.find(Filters.exists(LEGACY_FIELD))
+                .projection(Projections.include(LEGACY_FIELD))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                Object userId = referencedId(document.get(LEGACY_FIELD));
+                if (userId == null) {
+                    continue;
+                }
+                batch.add(new UpdateOneModel<>(
+                        Filters.eq("_id", document.get("_id")),
+                        Updates.combine(
+                                Updates.set(USER_ID_FIELD, userId.toString()),
+                                Updates.unset(LEGACY_FIELD))));
+                if (batch.size() == BATCH_SIZE) {
+                    collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+
+        IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION);
+        tryDropIndex(indexOps, LEGACY_INDEX);
+        indexOps.ensureIndex(new Index()
+                .on(USER_ID_FIELD, Sort.Direction.ASC)
+                .on("date", Sort.Direction.DESC)
+                .named(USER_DATE_INDEX));
+    }
+
+    private Object referencedId(Object reference) {
+        if (reference instanceof DBRef dbRef) {
+            return dbRef.getId();
+        }
+        if (reference instanceof Document document) {
+            return document.get("$id");
+        }
+        return null;
+    }
+
+    private void tryDropIndex(IndexOperations indexOps, String name) {
+        try {
+            indexOps.dropIndex(name);
+        } catch (Exception ignored) {
+        }
+    }
+
+    @RollbackExecution
+    public void rollback(MongoTemplate mongoTemplate) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        try (MongoCursor<Document> cursor = collection.find(Filters.exists(USER_ID_FIELD))
+                .projection(Projections.include(USER_ID_FIELD))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                batch.add(new UpdateOneModel<>(
+                        Filters.eq("_id", document.get("_id")),
+                        Updates.combine(
+                                Updates.set(LEGACY_FIELD, new DBRef(USERS_COLLECTION, document.getString(USER_ID_FIELD))),
+                                Updates.unset(USER_ID_FIELD))));
+                if (batch.size() == BATCH_SIZE) {
+                    collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+
+        IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION);
+        tryDropIndex(indexOps, USER_DATE_INDEX);
+        indexOps.ensureIndex(new Index().on("user_id.$id", Sort.Direction.ASC).named(LEGACY_INDEX));
+    }
+}
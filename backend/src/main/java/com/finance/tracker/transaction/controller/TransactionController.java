@@ -1,18 +1,34 @@
 package com.finance.tracker.transaction.controller;
 
 import com.finance.tracker.common.dto.ApiResponse;
+import com.finance.tracker.common.dto.CursorPage;
 import com.finance.tracker.common.dto.PaginatedResponse;
+import com.finance.tracker.transaction.dto.BulkCreateTransactionRequestDTO;
+import com.finance.tracker.transaction.dto.BulkCreateTransactionResponseDTO;
 import com.finance.tracker.transaction.dto.CreateTransactionRequestDTO;
 import com.finance.tracker.transaction.dto.TransactionDTO;
+import com.finance.tracker.transaction.dto.TransactionImportDTO;
 import com.finance.tracker.transaction.dto.UpdateTransactionRequestDTO;
 import com.finance.tracker.transaction.entity.FinancialTransaction;
+import com.finance.tracker.transaction.enumeration.ExportFormat;
 import com.finance.tracker.transaction.mapper.TransactionMapper;
+import com.finance.tracker.transaction.service.TransactionExportService;
+import com.finance.tracker.transaction.service.TransactionImportService;
 import com.finance.tracker.transaction.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
@@ -21,6 +37,8 @@ public class TransactionController {
     
     private final TransactionService transactionService;
     private final TransactionMapper transactionMapper;
+    private final TransactionExportService transactionExportService;
+    private final TransactionImportService transactionImportService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<PaginatedResponse<TransactionDTO>>> getAllTransactions(
@@ -33,6 +51,70 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success(paginatedResponse));
     }
     
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionDTO>>> getTransactionsByCursor(
+            @RequestParam String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        
+        CursorPage<TransactionDTO> cursorPage =
+            transactionService.getTransactionsByCursor(userId, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(cursorPage));
+    }
+    
+    /**
+     * Stream the ledger as CSV (default) or NDJSON, newest first, optionally limited
+     * to an inclusive date range.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam String userId,
+            @RequestParam(required = false, defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        StreamingResponseBody body = transactionExportService.export(userId, format, from, to);
+        String fileName = "transactions." + format.getFileExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Import a CSV bank statement sent as the raw request body. Pass the same importId
+     * when retrying an interrupted upload to resume it without creating duplicates.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<TransactionImportDTO>> importTransactions(
+            @RequestParam String userId,
+            @RequestParam(required = false) String importId,
+            @RequestParam(required = false, defaultValue = "yyyy-MM-dd") String dateFormat,
+            InputStream body) {
+        TransactionImportDTO result = transactionImportService.importCsv(userId, importId, dateFormat, body);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<TransactionImportDTO>> importTransactionsFile(
+            @RequestParam String userId,
+            @RequestParam(required = false) String importId,
+            @RequestParam(required = false, defaultValue = "yyyy-MM-dd") String dateFormat,
+            @RequestPart("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            TransactionImportDTO result = transactionImportService.importCsv(userId, importId, dateFormat, input);
+            return ResponseEntity.ok(ApiResponse.success(result));
+        }
+    }
+    
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<ApiResponse<TransactionImportDTO>> getImport(
+            @PathVariable String importId,
+            @RequestParam String userId) {
+        TransactionImportDTO result = transactionImportService.getImport(importId, userId);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TransactionDTO>> getTransactionById(
             @PathVariable String id,
@@ -50,6 +132,21 @@ public class TransactionController {
                 .body(ApiResponse.success(createdTransaction, HttpStatus.CREATED));
     }
     
+    /**
+     * Create up to 1000 transactions in one request. Responds 201 when every item was
+     * created and 207 when some were rejected; per-item outcomes are in {@code results}.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkCreateTransactionResponseDTO>> createTransactions(
+            @Valid @RequestBody BulkCreateTransactionRequestDTO requestDTO) {
+        BulkCreateTransactionResponseDTO response = transactionService.createTransactions(requestDTO);
+        HttpStatus status = response.getCreated() == response.getResults().size()
+                ? HttpStatus.CREATED
+                : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status)
+                .body(ApiResponse.success(response, status));
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<TransactionDTO>> updateTransaction(
             @PathVariable String id,
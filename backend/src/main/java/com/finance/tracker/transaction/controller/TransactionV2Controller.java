@@ -0,0 +1,54 @@
+package com.finance.tracker.transaction.controller;
+
+import com.finance.tracker.common.dto.ApiResponse;
+import com.finance.tracker.common.dto.CursorPage;
+import com.finance.tracker.common.dto.PaginatedResponse;
+import com.finance.tracker.transaction.dto.TransactionDTO;
+import com.finance.tracker.transaction.dto.TransactionListItemDTO;
+import com.finance.tracker.transaction.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Read endpoints returning compact list items without the embedded user.
+ * Single-transaction reads still return the full {@link TransactionDTO}.
+ */
+@RestController
+@RequestMapping("/api/v2/transactions")
+@RequiredArgsConstructor
+public class TransactionV2Controller {
+
+    private final TransactionService transactionService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<PaginatedResponse<TransactionListItemDTO>>> getTransactions(
+            @RequestParam String userId,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "10") int size) {
+
+        PaginatedResponse<TransactionListItemDTO> paginatedResponse =
+            transactionService.getTransactionItemsPaginated(userId, page, size);
+        return ResponseEntity.ok(ApiResponse.success(paginatedResponse));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionListItemDTO>>> getTransactionsByCursor(
+            @RequestParam String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<TransactionListItemDTO> cursorPage =
+            transactionService.getTransactionItemsByCursor(userId, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(cursorPage));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<TransactionDTO>> getTransactionById(
+            @PathVariable String id,
+            @RequestParam String userId) {
+        TransactionDTO transaction = transactionService.getTransactionById(id, userId);
+        return ResponseEntity.ok(ApiResponse.success(transaction));
+    }
+}
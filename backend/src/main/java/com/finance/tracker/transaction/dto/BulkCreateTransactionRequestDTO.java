@@ -0,0 +1,27 @@
+package com.finance.tracker.transaction.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Items are deliberately not cascaded with @Valid: each one is validated
+ * individually so a single bad entry does not reject the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateTransactionRequestDTO {
+    
+    @NotBlank(message = "User ID is required")
+    private String userId;
+    
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 1000, message = "At most 1000 transactions can be created per request")
+    private List<BulkTransactionItemDTO> transactions;
+}
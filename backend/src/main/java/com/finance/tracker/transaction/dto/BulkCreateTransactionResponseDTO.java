@@ -0,0 +1,17 @@
+package com.finance.tracker.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateTransactionResponseDTO {
+    private int created;
+    private int duplicates;
+    private int failed;
+    private List<BulkTransactionResultDTO> results;
+}
@@ -0,0 +1,44 @@
+package com.finance.tracker.transaction.dto;
+
+import com.finance.tracker.transaction.enumeration.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransactionItemDTO {
+    
+    @Size(max = 100, message = "Client reference ID must not exceed 100 characters")
+    private String clientReferenceId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be positive")
+    @Digits(integer = 10, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private Double amount;
+    
+    @Size(max = 200, message = "Description must not exceed 200 characters")
+    private String description;
+    
+    @NotBlank(message = "Category is required")
+    @Size(max = 100, message = "Category must not exceed 100 characters")
+    private String category;
+    
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+    
+    @NotNull(message = "Transaction type is required")
+    private TransactionType transactionType;
+    
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Currency must be a 3-letter ISO 4217 code")
+    private String currency;
+}
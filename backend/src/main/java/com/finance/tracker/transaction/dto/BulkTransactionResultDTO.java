@@ -0,0 +1,19 @@
+package com.finance.tracker.transaction.dto;
+
+import com.finance.tracker.transaction.enumeration.BulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransactionResultDTO {
+    private int index;
+    private String clientReferenceId;
+    private BulkItemStatus status;
+    private String id;
+    private Map<String, String> errors;
+}
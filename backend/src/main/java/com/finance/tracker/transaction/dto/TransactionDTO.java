@@ -16,6 +16,7 @@ public class TransactionDTO {
     private String id;
     private UserDTO user;
     private Double amount;
+    private String currency;
     private String description;
     private String category;
     private LocalDate date;
@@ -0,0 +1,26 @@
+package com.finance.tracker.transaction.dto;
+
+import com.finance.tracker.transaction.entity.TransactionImport;
+import com.finance.tracker.transaction.enumeration.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionImportDTO {
+    private String importId;
+    private ImportStatus status;
+    private long rowsProcessed;
+    private long created;
+    private long duplicates;
+    private long failed;
+    private List<TransactionImport.RowError> errors;
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
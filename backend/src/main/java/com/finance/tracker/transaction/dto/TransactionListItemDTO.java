@@ -0,0 +1,28 @@
+package com.finance.tracker.transaction.dto;
+
+import com.finance.tracker.transaction.enumeration.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Transaction as it appears in lists. Unlike {@link TransactionDTO} it does not
+ * repeat the owner on every element.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionListItemDTO {
+    private String id;
+    private Double amount;
+    private String currency;
+    private String description;
+    private String category;
+    private LocalDate date;
+    private TransactionType transactionType;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -2,9 +2,7 @@ package com.finance.tracker.transaction.entity;
 
 import com.finance.tracker.common.entity.BaseEntity;
 import com.finance.tracker.transaction.enumeration.TransactionType;
-import com.finance.tracker.user.entity.User;
-import jakarta.validation.constraints.DecimalMin;
-import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -13,13 +11,22 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDate;
 
 @Document(collection = "financial_transactions")
+@CompoundIndexes({
+    @CompoundIndex(name = "userId_1_date_-1__id_-1", def = "{ 'userId': 1, 'date': -1, '_id': -1 }"),
+    @CompoundIndex(
+        name = "userId_1_clientReferenceId_1",
+        def = "{ 'userId': 1, 'clientReferenceId': 1 }",
+        unique = true,
+        partialFilter = "{ 'clientReferenceId': { $exists: true } }"
+    )
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -29,15 +36,14 @@ public class FinancialTransaction extends BaseEntity {
     @Id
     private String id;
 
-    @NotNull(message = "User is required")
-    @DBRef
-    @Field("user_id")
-    private User user;
+    @NotBlank(message = "User ID is required")
+    private String userId;
     
-    @NotNull(message = "Amount is required")
-    @DecimalMin(value = "0.01", message = "Amount must be positive")
-    @Digits(integer = 10, fraction = 2, message = "Amount must have at most 2 decimal places")
-    private Double amount = 0.0;
+    /**
+     * Amount in minor units (hundredths of {@link #currency}); see MoneyUtils.
+     */
+    @Min(value = 1, message = "Amount must be positive")
+    private long amountMinor;
     
     @Size(max = 200, message = "Description must not exceed 200 characters")
     private String description;
@@ -51,6 +57,20 @@ public class FinancialTransaction extends BaseEntity {
     
     @NotNull(message = "Transaction type is required")
     private TransactionType transactionType = TransactionType.EXPENSE;
+    
+    /**
+     * ISO 4217 code the amount is denominated in. Defaults to the owner's
+     * reporting currency at creation; reports convert it with the FX rate table.
+     */
+    @Size(max = 10, message = "Currency code must not exceed 10 characters")
+    private String currency;
+    
+    /**
+     * Client-generated idempotency key, unique per user when present.
+     * Lets offline clients retry a sync without creating duplicates.
+     */
+    @Size(max = 100, message = "Client reference ID must not exceed 100 characters")
+    private String clientReferenceId;
 
 }
 
@@ -0,0 +1,75 @@
+package com.finance.tracker.transaction.entity;
+
+import com.finance.tracker.common.entity.BaseEntity;
+import com.finance.tracker.transaction.enumeration.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of a CSV statement import. The import ID is chosen by the client so that
+ * a retried upload resumes the same import instead of starting a new one; it is
+ * scoped to its owner, so different users may pick the same one.
+ */
+@Document(collection = "transaction_imports")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class TransactionImport extends BaseEntity {
+    
+    /**
+     * {@code <userId>:<importId>}; see {@link #idOf(String, String)}.
+     */
+    @Id
+    private String id;
+    
+    private String userId;
+    
+    private String importId;
+    
+    private ImportStatus status = ImportStatus.IN_PROGRESS;
+    
+    /**
+     * Data rows (excluding the header) whose outcome has been written; a retry skips them.
+     */
+    private long rowsCommitted;
+    
+    private long created;
+    
+    private long duplicates;
+    
+    private long failed;
+    
+    /**
+     * First row errors, capped so a bad file cannot grow the document without bound.
+     */
+    private List<RowError> errors = new ArrayList<>();
+    
+    private String failureReason;
+    
+    /**
+     * While IN_PROGRESS, the run holding the import; renewed at every checkpoint. A
+     * run that stopped without finishing can be resumed once it has passed.
+     */
+    private Instant leaseUntil;
+    
+    public static String idOf(String userId, String importId) {
+        return userId + ":" + importId;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private Map<String, String> errors;
+    }
+}
@@ -0,0 +1,8 @@
+package com.finance.tracker.transaction.enumeration;
+
+public enum BulkItemStatus {
+    CREATED,
+    VALIDATION_FAILED,
+    DUPLICATE,
+    WRITE_FAILED
+}
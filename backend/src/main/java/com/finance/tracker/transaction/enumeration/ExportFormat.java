@@ -0,0 +1,22 @@
+package com.finance.tracker.transaction.enumeration;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String mediaType;
+    private final String fileExtension;
+    
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -0,0 +1,7 @@
+package com.finance.tracker.transaction.enumeration;
+
+public enum ImportStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,16 @@
+package com.finance.tracker.transaction.exception;
+
+import com.finance.tracker.common.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+public class TransactionImportInProgressException extends BaseException {
+    public TransactionImportInProgressException(String message) {
+        super(message, HttpStatus.CONFLICT, "TRANSACTION_IMPORT_IN_PROGRESS");
+    }
+    
+    public static TransactionImportInProgressException byImportId(String importId) {
+        return new TransactionImportInProgressException(
+                String.format("Import '%s' is already running; retry once it has finished or failed", importId)
+        );
+    }
+}
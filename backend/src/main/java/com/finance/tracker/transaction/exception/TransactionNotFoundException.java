@@ -19,5 +19,10 @@ public class TransactionNotFoundException extends BaseException {
                 String.format("Transaction with id '%s' not found for user ID '%s'", id, userId)
         );
     }
+    
+    public static TransactionNotFoundException importByIdAndUserId(String importId, String userId) {
+        return new TransactionNotFoundException(
+                String.format("Import with id '%s' not found for user ID '%s'", importId, userId)
+        );
+    }
 }
-
@@ -3,9 +3,54 @@ package com.finance.tracker.transaction.exception;
 import com.finance.tracker.common.exception.BaseException;
 import org.springframework.http.HttpStatus;
 
+import java.util.List;
+
 public class TransactionValidationException extends BaseException {
     public TransactionValidationException(String message) {
         super(message, HttpStatus.BAD_REQUEST, "TRANSACTION_VALIDATION_ERROR");
     }
+    
+    public static TransactionValidationException invalidCursor() {
+        return new TransactionValidationException("Invalid or expired pagination cursor");
+    }
+    
+    public static TransactionValidationException invalidPageSize(int size, int maxSize) {
+        return new TransactionValidationException(
+                String.format("Page size must be between 1 and %d but was %d", maxSize, size)
+        );
+    }
+    
+    public static TransactionValidationException invalidDateRange(Object from, Object to) {
+        return new TransactionValidationException(
+                String.format("Start date %s must not be after end date %s", from, to)
+        );
+    }
+    
+    public static TransactionValidationException invalidImportId(String importId) {
+        return new TransactionValidationException(
+                String.format("Import ID '%s' must be 1-64 letters, digits, '-' or '_'", importId)
+        );
+    }
+    
+    public static TransactionValidationException missingImportColumns(List<String> missingColumns) {
+        return new TransactionValidationException(
+                "CSV header is missing required column(s): " + String.join(", ", missingColumns)
+        );
+    }
+    
+    public static TransactionValidationException invalidDateFormat(String pattern) {
+        return new TransactionValidationException(
+                String.format("Invalid date format pattern '%s'", pattern)
+        );
+    }
+    
+    public static TransactionValidationException unreadableImport(String reason) {
+        return new TransactionValidationException("Could not read CSV upload: " + reason);
+    }
+    
+    public static TransactionValidationException unsupportedCurrency(String currency, String reportingCurrency) {
+        return new TransactionValidationException(
+                String.format("Currency '%s' cannot be converted to your reporting currency '%s'", currency, reportingCurrency)
+        );
+    }
 }
-
@@ -0,0 +1,51 @@
+package com.finance.tracker.transaction.mapper;
+
+import com.finance.tracker.transaction.entity.FinancialTransaction;
+import com.finance.tracker.transaction.exception.TransactionValidationException;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Converts between a transaction's (date, _id) sort key and the opaque
+ * continuation token handed out by the cursor listing API.
+ */
+@Component
+public class TransactionCursorMapper {
+    
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    
+    public String encode(FinancialTransaction lastTransaction) {
+        String raw = VERSION + SEPARATOR + lastTransaction.getDate() + SEPARATOR + lastTransaction.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a token produced by {@link #encode(FinancialTransaction)}.
+     *
+     * @throws TransactionValidationException if the token is malformed
+     */
+    public Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0]) || !ObjectId.isValid(parts[2])) {
+                throw TransactionValidationException.invalidCursor();
+            }
+            return new Position(LocalDate.parse(parts[1]), new ObjectId(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw TransactionValidationException.invalidCursor();
+        }
+    }
+    
+    /**
+     * Sort key of the last transaction returned; the next slice starts strictly after it.
+     */
+    public record Position(LocalDate date, ObjectId id) {}
+}
@@ -1,9 +1,14 @@
 package com.finance.tracker.transaction.mapper;
 
+import com.finance.tracker.common.util.MoneyUtils;
+import com.finance.tracker.transaction.dto.BulkTransactionItemDTO;
 import com.finance.tracker.transaction.dto.CreateTransactionRequestDTO;
 import com.finance.tracker.transaction.dto.TransactionDTO;
+import com.finance.tracker.transaction.dto.TransactionListItemDTO;
 import com.finance.tracker.transaction.dto.UpdateTransactionRequestDTO;
 import com.finance.tracker.transaction.entity.FinancialTransaction;
+import com.finance.tracker.user.dto.UserDTO;
+import com.finance.tracker.user.entity.User;
 import com.finance.tracker.user.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -17,15 +22,38 @@ public class TransactionMapper {
     
     private final UserMapper userMapper;
     
-    public TransactionDTO toDTO(FinancialTransaction transaction) {
+    /**
+     * Map a transaction to its DTO. The owner is passed in by the caller,
+     * who has already resolved it; transactions only store the owner's ID.
+     */
+    public TransactionDTO toDTO(FinancialTransaction transaction, User owner) {
+        return buildDTO(transaction, userMapper.toDTO(owner));
+    }
+    
+    /**
+     * Map transactions that all belong to the same owner. The owner's DTO is
+     * built once and shared by every element.
+     */
+    public List<TransactionDTO> toDTOList(List<FinancialTransaction> transactions, User owner) {
+        if (transactions == null) {
+            return null;
+        }
+        UserDTO ownerDTO = userMapper.toDTO(owner);
+        return transactions.stream()
+                .map(transaction -> buildDTO(transaction, ownerDTO))
+                .collect(Collectors.toList());
+    }
+    
+    private TransactionDTO buildDTO(FinancialTransaction transaction, UserDTO ownerDTO) {
         if (transaction == null) {
             return null;
         }
         
         TransactionDTO dto = new TransactionDTO();
         dto.setId(transaction.getId());
-        dto.setUser(userMapper.toDTO(transaction.getUser()));
-        dto.setAmount(transaction.getAmount());
+        dto.setUser(ownerDTO);
+        dto.setAmount(MoneyUtils.toMajor(transaction.getAmountMinor()));
+        dto.setCurrency(transaction.getCurrency());
         dto.setDescription(transaction.getDescription());
         dto.setCategory(transaction.getCategory());
         dto.setDate(transaction.getDate());
@@ -36,28 +64,65 @@ public class TransactionMapper {
         return dto;
     }
     
-    public List<TransactionDTO> toDTOList(List<FinancialTransaction> transactions) {
+    public List<TransactionListItemDTO> toListItemDTOList(List<FinancialTransaction> transactions) {
         if (transactions == null) {
             return null;
         }
         return transactions.stream()
-                .map(this::toDTO)
+                .map(this::toListItemDTO)
                 .collect(Collectors.toList());
     }
     
+    public TransactionListItemDTO toListItemDTO(FinancialTransaction transaction) {
+        if (transaction == null) {
+            return null;
+        }
+        
+        TransactionListItemDTO dto = new TransactionListItemDTO();
+        dto.setId(transaction.getId());
+        dto.setAmount(MoneyUtils.toMajor(transaction.getAmountMinor()));
+        dto.setCurrency(transaction.getCurrency());
+        dto.setDescription(transaction.getDescription());
+        dto.setCategory(transaction.getCategory());
+        dto.setDate(transaction.getDate());
+        dto.setTransactionType(transaction.getTransactionType());
+        dto.setCreatedAt(transaction.getCreatedAt());
+        dto.setUpdatedAt(transaction.getUpdatedAt());
+        
+        return dto;
+    }
+    
     public FinancialTransaction toEntity(CreateTransactionRequestDTO requestDTO) {
         if (requestDTO == null) {
             return null;
         }
         
         FinancialTransaction transaction = new FinancialTransaction();
-        transaction.setAmount(requestDTO.getAmount());
+        transaction.setAmountMinor(MoneyUtils.toMinor(requestDTO.getAmount()));
+        transaction.setCurrency(requestDTO.getCurrency());
         transaction.setDescription(requestDTO.getDescription());
         transaction.setCategory(requestDTO.getCategory());
         transaction.setDate(requestDTO.getDate());
         transaction.setTransactionType(requestDTO.getTransactionType());
         
-        // Note: User will be set by the service layer
+        // Note: User ID will be set by the service layer
+        return transaction;
+    }
+    
+    public FinancialTransaction toEntity(BulkTransactionItemDTO itemDTO, String userId) {
+        if (itemDTO == null) {
+            return null;
+        }
+        
+        FinancialTransaction transaction = new FinancialTransaction();
+        transaction.setUserId(userId);
+        transaction.setClientReferenceId(itemDTO.getClientReferenceId());
+        transaction.setAmountMinor(MoneyUtils.toMinor(itemDTO.getAmount()));
+        transaction.setCurrency(itemDTO.getCurrency());
+        transaction.setDescription(itemDTO.getDescription());
+        transaction.setCategory(itemDTO.getCategory());
+        transaction.setDate(itemDTO.getDate());
+        transaction.setTransactionType(itemDTO.getTransactionType());
         return transaction;
     }
     
@@ -70,7 +135,10 @@ public class TransactionMapper {
             return;
         }
         
-        existingTransaction.setAmount(requestDTO.getAmount());
+        existingTransaction.setAmountMinor(MoneyUtils.toMinor(requestDTO.getAmount()));
+        if (requestDTO.getCurrency() != null) {
+            existingTransaction.setCurrency(requestDTO.getCurrency());
+        }
         existingTransaction.setDescription(requestDTO.getDescription());
         existingTransaction.setCategory(requestDTO.getCategory());
         existingTransaction.setDate(requestDTO.getDate());
@@ -7,7 +7,6 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class SumResult {
-    private Double total;
+public class CountResult {
+    private long total;
 }
-
@@ -0,0 +1,12 @@
+package com.finance.tracker.transaction.repository;
+
+import com.finance.tracker.transaction.entity.TransactionImport;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TransactionImportRepository extends MongoRepository<TransactionImport, String> {
+    Optional<TransactionImport> findByIdAndUserId(String id, String userId);
+}
@@ -1,10 +1,13 @@
 package com.finance.tracker.transaction.repository;
 
+import com.finance.tracker.common.util.QueryTimeouts;
+import com.finance.tracker.rollup.entity.MonthlyRollup;
 import com.finance.tracker.transaction.entity.FinancialTransaction;
-import com.finance.tracker.user.entity.User;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -12,37 +15,110 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+
 @Repository
 public interface TransactionRepository extends MongoRepository<FinancialTransaction, String> {
     
-    List<FinancialTransaction> findByUser(User user);
+    /**
+     * Fields read for list items; the owner and idempotency key are left on the server.
+     */
+    String LIST_ITEM_FIELDS = "{ 'amountMinor': 1, 'currency': 1, 'description': 1, 'category': 1, "
+            + "'date': 1, 'transactionType': 1, 'created_at': 1, 'updated_at': 1 }";
+    
+    List<FinancialTransaction> findByUserId(String userId);
+    
+    List<FinancialTransaction> findByUserIdOrderByDateDesc(String userId);
     
-    List<FinancialTransaction> findByUserOrderByDateDesc(User user);
+    List<FinancialTransaction> findByUserId(String userId, Pageable pageable);
     
-    Page<FinancialTransaction> findByUserOrderByDateDesc(User user, Pageable pageable);
+    /**
+     * Keyset seek: transactions strictly after (date, id) in (date desc, _id desc) order.
+     * Sort and limit come from the pageable; no skip and no count are issued.
+     */
+    @Query("{ 'userId': ?0, $or: [ { 'date': { $lt: ?1 } }, { 'date': ?1, '_id': { $lt: ?2 } } ] }")
+    List<FinancialTransaction> findByUserIdAfter(String userId, LocalDate date, ObjectId id, Pageable pageable);
     
-    List<FinancialTransaction> findByUserAndDateBetween(
-        User user, 
+    Page<FinancialTransaction> findByUserIdOrderByDateDesc(String userId, Pageable pageable);
+    
+    List<FinancialTransaction> findByUserIdAndDateBetween(
+        String userId, 
         LocalDate startDate, 
         LocalDate endDate
     );
     
-    @Query("{ 'user_id.$id': ?0, 'date': { $gte: ?1, $lte: ?2 } }")
+    @Query("{ 'userId': ?0, 'date': { $gte: ?1, $lte: ?2 } }")
     List<FinancialTransaction> findTransactionsByUserAndDateRange(
         String userId, 
         LocalDate startDate, 
         LocalDate endDate
     );
     
-    @Query("{ '_id': ?0, 'user_id.$id': ?1 }")
-    Optional<FinancialTransaction> findByIdAndUser(String id, String userId);
+    /**
+     * One page of a user's transactions within an inclusive date range.
+     * Sort and limit come from the pageable; the accompanying count is a range
+     * count on the (userId, date) index. Bounded for the dashboard's month page.
+     */
+    @Meta(maxExecutionTimeMs = QueryTimeouts.DASHBOARD_READ_MS)
+    @Query("{ 'userId': ?0, 'date': { $gte: ?1, $lte: ?2 } }")
+    Page<FinancialTransaction> findPageByUserIdAndDateRange(
+        String userId, 
+        LocalDate startDate, 
+        LocalDate endDate, 
+        Pageable pageable
+    );
+    
+    // ========== List item projections (LIST_ITEM_FIELDS only) ==========
+    
+    @Query(value = "{ 'userId': ?0 }", fields = LIST_ITEM_FIELDS)
+    List<FinancialTransaction> findListItemsByUserId(String userId, Pageable pageable);
     
-    long countByUser(User user);
+    @Query(value = "{ 'userId': ?0 }", fields = LIST_ITEM_FIELDS)
+    Page<FinancialTransaction> findListItemPageByUserId(String userId, Pageable pageable);
     
+    @Meta(maxExecutionTimeMs = QueryTimeouts.DASHBOARD_READ_MS)
+    @Query(value = "{ 'userId': ?0 }", fields = LIST_ITEM_FIELDS, sort = "{ 'date': -1, '_id': -1 }")
+    List<FinancialTransaction> findAllListItemsByUserId(String userId);
+    
+    @Query(value = "{ 'userId': ?0, $or: [ { 'date': { $lt: ?1 } }, { 'date': ?1, '_id': { $lt: ?2 } } ] }",
+            fields = LIST_ITEM_FIELDS)
+    List<FinancialTransaction> findListItemsByUserIdAfter(String userId, LocalDate date, ObjectId id, Pageable pageable);
+    
+    @Meta(maxExecutionTimeMs = QueryTimeouts.DASHBOARD_READ_MS)
+    @Query(value = "{ 'userId': ?0, 'date': { $gte: ?1, $lte: ?2 } }", fields = LIST_ITEM_FIELDS)
+    Page<FinancialTransaction> findListItemPageByUserIdAndDateRange(
+        String userId, 
+        LocalDate startDate, 
+        LocalDate endDate, 
+        Pageable pageable
+    );
+    
+    Optional<FinancialTransaction> findByIdAndUserId(String id, String userId);
+    
+    long countByUserId(String userId);
+    
+    /**
+     * Recompute a user's monthly rollup buckets straight from the ledger.
+     * Dates are bucketed in {@code timezone}, the zone LocalDate values were stored in.
+     */
     @Aggregation(pipeline = {
-        "{ $match: { 'user_id.$id': ?0 } }",
-        "{ $group: { _id: null, total: { $sum: '$amount' } } }"
+        "{ $match: { 'userId': ?0 } }",
+        "{ $group: { "
+            + "_id: { "
+            + "  yearMonth: { $dateToString: { format: '%Y-%m', date: '$date', timezone: ?1 } }, "
+            + "  transactionType: '$transactionType', "
+            + "  category: '$category', "
+            + "  currency: '$currency' }, "
+            + "totalMinor: { $sum: '$amountMinor' }, "
+            + "count: { $sum: 1 } } }",
+        "{ $project: { "
+            + "_id: 0, "
+            + "userId: { $literal: ?0 }, "
+            + "yearMonth: '$_id.yearMonth', "
+            + "transactionType: '$_id.transactionType', "
+            + "category: '$_id.category', "
+            + "currency: '$_id.currency', "
+            + "totalMinor: 1, "
+            + "count: 1 } }"
     })
-    double sumAmountByUser(String userId);
+    List<MonthlyRollup> aggregateMonthlyRollups(String userId, String timezone);
 }
-
@@ -0,0 +1,88 @@
+package com.finance.tracker.transaction.service;
+
+import com.finance.tracker.rollup.service.MonthlyRollupService;
+import com.finance.tracker.transaction.entity.FinancialTransaction;
+import com.finance.tracker.transaction.enumeration.BulkItemStatus;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes batches of transactions with unordered insertMany, in chunks of
+ * {@code transaction.bulk.chunk-size}, and mirrors the inserted ones into the
+ * monthly rollups with one bulk upsert per chunk.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionBulkWriter {
+    
+    private final MongoTemplate mongoTemplate;
+    private final MonthlyRollupService monthlyRollupService;
+    
+    @Value("${transaction.bulk.chunk-size:500}")
+    private int chunkSize;
+    
+    @PostConstruct
+    void validateChunkSize() {
+        if (chunkSize < 1) {
+            throw new IllegalStateException("transaction.bulk.chunk-size must be at least 1, was " + chunkSize);
+        }
+    }
+    
+    /**
+     * Insert the given transactions. IDs are assigned up front so callers can report them.
+     * A duplicate (userId, clientReferenceId) only fails its own document.
+     *
+     * @return outcome per transaction, in input order: CREATED, DUPLICATE or WRITE_FAILED
+     */
+    public List<BulkItemStatus> insertAll(List<FinancialTransaction> transactions) {
+        List<BulkItemStatus> outcomes = new ArrayList<>(transactions.size());
+        for (int start = 0; start < transactions.size(); start += chunkSize) {
+            List<FinancialTransaction> chunk = transactions.subList(start, Math.min(start + chunkSize, transactions.size()));
+            outcomes.addAll(insertChunk(chunk));
+        }
+        return outcomes;
+    }
+    
+    private List<BulkItemStatus> insertChunk(List<FinancialTransaction> chunk) {
+        for (FinancialTransaction transaction : chunk) {
+            if (transaction.getId() == null) {
+                transaction.setId(new ObjectId().toHexString());
+            }
+        }
+        
+        BulkItemStatus[] outcomes = new BulkItemStatus[chunk.size()];
+        Arrays.fill(outcomes, BulkItemStatus.CREATED);
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FinancialTransaction.class)
+                    .insert(chunk)
+                    .execute();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                outcomes[error.getIndex()] = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                        ? BulkItemStatus.DUPLICATE
+                        : BulkItemStatus.WRITE_FAILED;
+            }
+        }
+        
+        List<FinancialTransaction> inserted = new ArrayList<>(chunk.size());
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i] == BulkItemStatus.CREATED) {
+                inserted.add(chunk.get(i));
+            }
+        }
+        monthlyRollupService.recordCreated(inserted);
+        return Arrays.asList(outcomes);
+    }
+}
@@ -0,0 +1,132 @@
+package com.finance.tracker.transaction.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.tracker.common.util.CsvUtils;
+import com.finance.tracker.common.util.MoneyUtils;
+import com.finance.tracker.transaction.entity.FinancialTransaction;
+import com.finance.tracker.transaction.enumeration.ExportFormat;
+import com.finance.tracker.transaction.exception.TransactionValidationException;
+import com.finance.tracker.user.entity.User;
+import com.finance.tracker.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's ledger as CSV or NDJSON directly from a Mongo cursor.
+ * Only one cursor batch is held in memory at a time, so heap usage does not
+ * grow with the size of the ledger.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+    
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final String[] CSV_HEADER = {
+        "id", "date", "transactionType", "category", "amount", "currency", "description", "createdAt"
+    };
+    
+    private final MongoTemplate mongoTemplate;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Validate the request and resolve the user up front, so errors are still reported
+     * as regular API errors. The returned body opens the cursor only once the response
+     * is being written.
+     */
+    public StreamingResponseBody export(String userId, ExportFormat format, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw TransactionValidationException.invalidDateRange(from, to);
+        }
+        User user = userService.getUserById(userId);
+        Query query = exportQuery(user.getId(), from, to);
+        
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try (Stream<FinancialTransaction> transactions = mongoTemplate.stream(query, FinancialTransaction.class)) {
+                if (format == ExportFormat.NDJSON) {
+                    writeNdjson(writer, transactions.iterator());
+                } else {
+                    writeCsv(writer, transactions.iterator());
+                }
+            }
+            writer.flush();
+        };
+    }
+    
+    private Query exportQuery(String userId, LocalDate from, LocalDate to) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (from != null || to != null) {
+            Criteria date = Criteria.where("date");
+            if (from != null) {
+                date = date.gte(from);
+            }
+            if (to != null) {
+                date = date.lte(to);
+            }
+            criteria = criteria.andOperator(date);
+        }
+        // Same order as the listing endpoints, served by the (userId, date, _id) index
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "id")))
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+    }
+    
+    private void writeCsv(Writer writer, Iterator<FinancialTransaction> transactions) throws IOException {
+        CsvUtils.writeRecord(writer, (Object[]) CSV_HEADER);
+        while (transactions.hasNext()) {
+            FinancialTransaction transaction = transactions.next();
+            CsvUtils.writeRecord(writer,
+                transaction.getId(),
+                transaction.getDate(),
+                transaction.getTransactionType(),
+                transaction.getCategory(),
+                MoneyUtils.toPlainString(transaction.getAmountMinor()),
+                transaction.getCurrency(),
+                transaction.getDescription(),
+                transaction.getCreatedAt()
+            );
+        }
+    }
+    
+    private void writeNdjson(Writer writer, Iterator<FinancialTransaction> transactions) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (transactions.hasNext()) {
+            FinancialTransaction transaction = transactions.next();
+            generator.writeStartObject();
+            generator.writeStringField("id", transaction.getId());
+            generator.writeStringField("date", toStringOrNull(transaction.getDate()));
+            generator.writeStringField("transactionType", toStringOrNull(transaction.getTransactionType()));
+            generator.writeStringField("category", transaction.getCategory());
+            // Written from minor units as a decimal literal, so no floating point rounding
+            generator.writeFieldName("amount");
+            generator.writeNumber(MoneyUtils.toPlainString(transaction.getAmountMinor()));
+            generator.writeStringField("currency", transaction.getCurrency());
+            generator.writeStringField("description", transaction.getDescription());
+            generator.writeStringField("createdAt", toStringOrNull(transaction.getCreatedAt()));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+    
+    private String toStringOrNull(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,380 @@
+package com.finance.tracker.transaction.service;
+
+import com.finance.tracker.common.util.CsvRecordReader;
+import com.finance.tracker.common.util.CsvUtils;
+import com.finance.tracker.currency.service.FxRateTable;
+import com.finance.tracker.transaction.dto.CreateTransactionRequestDTO;
+import com.finance.tracker.transaction.dto.TransactionImportDTO;
+import com.finance.tracker.transaction.entity.FinancialTransaction;
+import com.finance.tracker.transaction.entity.TransactionImport;
+import com.finance.tracker.transaction.enumeration.BulkItemStatus;
+import com.finance.tracker.transaction.enumeration.ImportStatus;
+import com.finance.tracker.transaction.enumeration.TransactionType;
+import com.finance.tracker.transaction.exception.TransactionImportInProgressException;
+import com.finance.tracker.transaction.exception.TransactionNotFoundException;
+import com.finance.tracker.transaction.exception.TransactionValidationException;
+import com.finance.tracker.transaction.mapper.TransactionMapper;
+import com.finance.tracker.transaction.repository.TransactionImportRepository;
+import com.finance.tracker.user.entity.User;
+import com.finance.tracker.user.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Imports CSV bank statements. The upload is parsed one record at a time and
+ * written in bulk chunks, so memory stays bounded by the chunk size rather than
+ * the file size.
+ *
+ * Every row is stored with the clientReferenceId {@code import:<importId>:<row>}
+ * and progress is checkpointed after each chunk. Retrying an upload with the same
+ * importId skips the committed rows, and the unique (userId, clientReferenceId)
+ * index turns any row of an interrupted chunk into a duplicate instead of a second copy.
+ * A run claims its import atomically; a second upload with the same importId is
+ * rejected while the first one holds the lease ({@code transaction.import.lease-ttl}).
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+    
+    private static final Pattern IMPORT_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final List<String> REQUIRED_COLUMNS = List.of("date", "amount", "category");
+    
+    private final TransactionImportRepository transactionImportRepository;
+    private final TransactionBulkWriter transactionBulkWriter;
+    private final TransactionMapper transactionMapper;
+    private final UserService userService;
+    private final Validator validator;
+    private final MongoTemplate mongoTemplate;
+    private final FxRateTable fxRateTable;
+    
+    @Value("${transaction.bulk.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${transaction.import.lease-ttl:10m}")
+    private Duration leaseTtl;
+    
+    public TransactionImportDTO importCsv(String userId, String importId, String dateFormat, InputStream input) {
+        if (importId == null || importId.isBlank()) {
+            importId = UUID.randomUUID().toString();
+        } else if (!IMPORT_ID_PATTERN.matcher(importId).matches()) {
+            throw TransactionValidationException.invalidImportId(importId);
+        }
+        DateTimeFormatter dateFormatter;
+        try {
+            dateFormatter = DateTimeFormatter.ofPattern(dateFormat);
+        } catch (IllegalArgumentException ex) {
+            throw TransactionValidationException.invalidDateFormat(dateFormat);
+        }
+        User user = userService.getUserById(userId);
+        
+        TransactionImport progress = startOrResume(importId, user.getId());
+        if (progress.getStatus() == ImportStatus.COMPLETED) {
+            return toDTO(progress);
+        }
+        
+        try (CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            process(reader, progress, dateFormatter, user.getCurrency());
+            progress.setStatus(ImportStatus.COMPLETED);
+            progress.setLeaseUntil(null);
+            transactionImportRepository.save(progress);
+            return toDTO(progress);
+        } catch (IOException ex) {
+            markFailed(progress, ex.getMessage());
+            throw TransactionValidationException.unreadableImport(ex.getMessage());
+        } catch (RuntimeException ex) {
+            markFailed(progress, ex.getMessage());
+            throw ex;
+        }
+    }
+    
+    public TransactionImportDTO getImport(String importId, String userId) {
+        User user = userService.getUserById(userId);
+        return transactionImportRepository.findByIdAndUserId(TransactionImport.idOf(user.getId(), importId), user.getId())
+                .map(this::toDTO)
+                .orElseThrow(() -> TransactionNotFoundException.importByIdAndUserId(importId, userId));
+    }
+    
+    /**
+     * Claim the import for this run: create it, or take over a FAILED one or an
+     * IN_PROGRESS one whose lease has passed. A COMPLETED import is returned as is.
+     *
+     * @throws TransactionImportInProgressException if another run holds the import
+     */
+    private TransactionImport startOrResume(String importId, String userId) {
+        String id = TransactionImport.idOf(userId, importId);
+        Instant now = Instant.now();
+        Query claimable = Query.query(Criteria.where("_id").is(id).orOperator(
+                Criteria.where("status").is(ImportStatus.FAILED),
+                Criteria.where("status").is(ImportStatus.IN_PROGRESS).and("leaseUntil").lt(now)));
+        Update claim = new Update()
+                .set("status", ImportStatus.IN_PROGRESS)
+                .set("leaseUntil", now.plus(leaseTtl))
+                .unset("failureReason")
+                .set("updated_at", LocalDateTime.now())
+                .setOnInsert("userId", userId)
+                .setOnInsert("importId", importId)
+                .setOnInsert("created_at", LocalDateTime.now());
+        try {
+            // No claimable document: either it does not exist yet and is inserted, or
+            // the upsert collides on _id with a running or completed import
+            return mongoTemplate.findAndModify(claimable, claim,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), TransactionImport.class);
+        } catch (DuplicateKeyException ex) {
+            TransactionImport existing = transactionImportRepository.findById(id)
+                    .orElseThrow(() -> TransactionImportInProgressException.byImportId(importId));
+            if (existing.getStatus() == ImportStatus.COMPLETED) {
+                return existing;
+            }
+            throw TransactionImportInProgressException.byImportId(importId);
+        }
+    }
+    
+    private void process(CsvRecordReader reader, TransactionImport progress, DateTimeFormatter dateFormatter,
+                         String reportingCurrency) throws IOException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = indexColumns(header);
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw TransactionValidationException.missingImportColumns(missing);
+        }
+        
+        Chunk chunk = new Chunk();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            long row = reader.getRecordNumber() - 1;
+            if (row <= progress.getRowsCommitted() || isBlank(record)) {
+                continue;
+            }
+            
+            CreateTransactionRequestDTO requestDTO = new CreateTransactionRequestDTO();
+            requestDTO.setUserId(progress.getUserId());
+            Map<String, String> errors = parseRow(record, columns, dateFormatter, requestDTO);
+            for (ConstraintViolation<CreateTransactionRequestDTO> violation : validator.validate(requestDTO)) {
+                errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            // Rows without a currency column are in the reporting currency; others must
+            // be convertible into it, as for transactions created through the API
+            String currency = requestDTO.getCurrency() != null ? requestDTO.getCurrency() : reportingCurrency;
+            if (!errors.containsKey("currency") && !fxRateTable.canConvert(currency, reportingCurrency)) {
+                errors.put("currency", TransactionValidationException.unsupportedCurrency(currency, reportingCurrency).getMessage());
+            }
+            
+            if (errors.isEmpty()) {
+                FinancialTransaction transaction = transactionMapper.toEntity(requestDTO);
+                transaction.setUserId(progress.getUserId());
+                transaction.setCurrency(currency);
+                transaction.setClientReferenceId("import:" + progress.getImportId() + ":" + row);
+                chunk.add(row, transaction);
+            } else {
+                chunk.reject(row, errors);
+            }
+            
+            if (chunk.size() >= chunkSize) {
+                flush(chunk, progress, row);
+            }
+        }
+        flush(chunk, progress, reader.getRecordNumber() - 1);
+    }
+    
+    private Map<String, String> parseRow(List<String> record, Map<String, Integer> columns,
+                                         DateTimeFormatter dateFormatter, CreateTransactionRequestDTO requestDTO) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        
+        String date = column(record, columns, "date");
+        if (date != null) {
+            try {
+                requestDTO.setDate(LocalDate.parse(date, dateFormatter));
+            } catch (DateTimeParseException ex) {
+                errors.put("date", "Date '" + date + "' does not match the expected format");
+            }
+        }
+        
+        BigDecimal amount = null;
+        String rawAmount = column(record, columns, "amount");
+        if (rawAmount != null) {
+            try {
+                amount = new BigDecimal(rawAmount.replace(",", ""));
+            } catch (NumberFormatException ex) {
+                errors.put("amount", "Amount '" + rawAmount + "' is not a number");
+            }
+        }
+        
+        String type = column(record, columns, "transactiontype");
+        if (type != null) {
+            TransactionType transactionType = parseType(type);
+            if (transactionType == null) {
+                errors.put("transactionType", "Unknown transaction type '" + type + "'");
+            }
+            requestDTO.setTransactionType(transactionType);
+        } else if (amount != null) {
+            // Statements without a type column sign their amounts: debits are negative
+            requestDTO.setTransactionType(amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME);
+            amount = amount.abs();
+        }
+        if (amount != null) {
+            requestDTO.setAmount(amount.doubleValue());
+        }
+        
+        // Text written by the export carries a formula guard quote; strip it
+        String currency = column(record, columns, "currency");
+        if (currency != null) {
+            requestDTO.setCurrency(currency.toUpperCase(Locale.ROOT));
+        }
+        
+        requestDTO.setCategory(CsvUtils.unescapeFormula(column(record, columns, "category")));
+        requestDTO.setDescription(CsvUtils.unescapeFormula(column(record, columns, "description")));
+        return errors;
+    }
+    
+    private TransactionType parseType(String value) {
+        switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "EXPENSE":
+            case "DEBIT":
+            case "DR":
+                return TransactionType.EXPENSE;
+            case "INCOME":
+            case "CREDIT":
+            case "CR":
+                return TransactionType.INCOME;
+            default:
+                return null;
+        }
+    }
+    
+    private void flush(Chunk chunk, TransactionImport progress, long lastRow) {
+        List<BulkItemStatus> outcomes = transactionBulkWriter.insertAll(chunk.transactions);
+        for (int i = 0; i < outcomes.size(); i++) {
+            switch (outcomes.get(i)) {
+                case CREATED -> progress.setCreated(progress.getCreated() + 1);
+                case DUPLICATE -> progress.setDuplicates(progress.getDuplicates() + 1);
+                default -> addError(progress, chunk.rows.get(i), Map.of("transaction", "Could not be written"));
+            }
+        }
+        for (TransactionImport.RowError rejected : chunk.rejected) {
+            addError(progress, rejected.getRow(), rejected.getErrors());
+        }
+        
+        progress.setRowsCommitted(Math.max(progress.getRowsCommitted(), lastRow));
+        progress.setLeaseUntil(Instant.now().plus(leaseTtl));
+        transactionImportRepository.save(progress);
+        chunk.clear();
+    }
+    
+    private void addError(TransactionImport progress, long row, Map<String, String> errors) {
+        progress.setFailed(progress.getFailed() + 1);
+        if (progress.getErrors().size() < MAX_REPORTED_ERRORS) {
+            progress.getErrors().add(new TransactionImport.RowError(row, errors));
+        }
+    }
+    
+    private void markFailed(TransactionImport progress, String reason) {
+        logger.warn("Import {} for user {} failed after row {}: {}",
+                progress.getImportId(), progress.getUserId(), progress.getRowsCommitted(), reason);
+        progress.setStatus(ImportStatus.FAILED);
+        progress.setFailureReason(reason);
+        progress.setLeaseUntil(null);
+        transactionImportRepository.save(progress);
+    }
+    
+    private Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        return columns;
+    }
+    
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    private boolean isBlank(List<String> record) {
+        return record.stream().allMatch(String::isBlank);
+    }
+    
+    private TransactionImportDTO toDTO(TransactionImport progress) {
+        return new TransactionImportDTO(
+            progress.getImportId(),
+            progress.getStatus(),
+            progress.getRowsCommitted(),
+            progress.getCreated(),
+            progress.getDuplicates(),
+            progress.getFailed(),
+            progress.getErrors(),
+            progress.getFailureReason(),
+            progress.getCreatedAt(),
+            progress.getUpdatedAt()
+        );
+    }
+    
+    /**
+     * Rows read since the last checkpoint.
+     */
+    private static final class Chunk {
+        private final List<FinancialTransaction> transactions = new ArrayList<>();
+        private final List<Long> rows = new ArrayList<>();
+        private final List<TransactionImport.RowError> rejected = new ArrayList<>();
+        
+        void add(long row, FinancialTransaction transaction) {
+            rows.add(row);
+            transactions.add(transaction);
+        }
+        
+        void reject(long row, Map<String, String> errors) {
+            rejected.add(new TransactionImport.RowError(row, errors));
+        }
+        
+        int size() {
+            return transactions.size() + rejected.size();
+        }
+        
+        void clear() {
+            transactions.clear();
+            rows.clear();
+            rejected.clear();
+        }
+    }
+}
@@ -1,19 +1,34 @@
 package com.finance.tracker.transaction.service;
 
+import com.finance.tracker.common.dto.CursorPage;
 import com.finance.tracker.common.dto.PaginatedResponse;
+import com.finance.tracker.common.util.MoneyUtils;
+import com.finance.tracker.currency.service.FxRateTable;
+import com.finance.tracker.rollup.service.MonthlyRollupService;
+import com.finance.tracker.transaction.dto.BulkCreateTransactionRequestDTO;
+import com.finance.tracker.transaction.dto.BulkCreateTransactionResponseDTO;
+import com.finance.tracker.transaction.dto.BulkTransactionItemDTO;
+import com.finance.tracker.transaction.dto.BulkTransactionResultDTO;
 import com.finance.tracker.transaction.dto.TransactionDTO;
+import com.finance.tracker.transaction.dto.TransactionListItemDTO;
 import com.finance.tracker.transaction.dto.UpdateTransactionRequestDTO;
 import com.finance.tracker.transaction.entity.FinancialTransaction;
+import com.finance.tracker.transaction.enumeration.BulkItemStatus;
 import com.finance.tracker.transaction.exception.TransactionNotFoundException;
+import com.finance.tracker.transaction.exception.TransactionValidationException;
+import com.finance.tracker.transaction.mapper.TransactionCursorMapper;
 import com.finance.tracker.transaction.mapper.TransactionMapper;
 import com.finance.tracker.transaction.repository.TransactionRepository;
 import com.finance.tracker.user.entity.User;
 import com.finance.tracker.user.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import com.finance.tracker.transaction.enumeration.TransactionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +36,11 @@ import com.finance.tracker.common.util.DateTimeUtils;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,19 +49,28 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final UserService userService;
     private final TransactionMapper transactionMapper;
+    private final TransactionCursorMapper transactionCursorMapper;
+    private final MonthlyRollupService monthlyRollupService;
+    private final TransactionBulkWriter transactionBulkWriter;
+    private final FxRateTable fxRateTable;
+    private final Validator validator;
+    
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "date")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
     
     public List<TransactionDTO> getAllTransactionsByUserId(String userId) {
         User user = userService.getUserById(userId);
-        List<FinancialTransaction> transactions = transactionRepository.findByUserOrderByDateDesc(user);
-        return transactionMapper.toDTOList(transactions);
+        List<FinancialTransaction> transactions = transactionRepository.findByUserIdOrderByDateDesc(user.getId());
+        return transactionMapper.toDTOList(transactions, user);
     }
     
     public PaginatedResponse<TransactionDTO> getAllTransactionsByUserIdPaginated(String userId, int page, int size) {
         User user = userService.getUserById(userId);
         Pageable pageable = PageRequest.of(page, size);
-        Page<FinancialTransaction> transactionPage = transactionRepository.findByUserOrderByDateDesc(user, pageable);
+        Page<FinancialTransaction> transactionPage = transactionRepository.findByUserIdOrderByDateDesc(user.getId(), pageable);
         
-        List<TransactionDTO> transactionDTOs = transactionMapper.toDTOList(transactionPage.getContent());
+        List<TransactionDTO> transactionDTOs = transactionMapper.toDTOList(transactionPage.getContent(), user);
         return new PaginatedResponse<>(
             transactionDTOs,
             transactionPage.getNumber(),
@@ -51,106 +79,283 @@ public class TransactionService {
         );
     }
     
+    /**
+     * Page of compact list items, newest first, read with a field projection.
+     */
+    public PaginatedResponse<TransactionListItemDTO> getTransactionItemsPaginated(String userId, int page, int size) {
+        User user = userService.getUserById(userId);
+        Pageable pageable = PageRequest.of(page, size, KEYSET_SORT);
+        Page<FinancialTransaction> itemPage = transactionRepository.findListItemPageByUserId(user.getId(), pageable);
+        
+        return new PaginatedResponse<>(
+            transactionMapper.toListItemDTOList(itemPage.getContent()),
+            itemPage.getNumber(),
+            itemPage.getSize(),
+            itemPage.getTotalElements()
+        );
+    }
+    
+    /**
+     * Keyset-paginated listing, newest first. Seeks on (date, _id) instead of skipping,
+     * so every slice costs the same regardless of depth. The total count is only
+     * computed when {@code includeTotal} is set.
+     */
+    public CursorPage<TransactionDTO> getTransactionsByCursor(String userId, String cursor, int size, boolean includeTotal) {
+        User user = userService.getUserById(userId);
+        List<FinancialTransaction> rows = findCursorSlice(user.getId(), cursor, size, false);
+        return toCursorPage(rows, size, user.getId(), includeTotal, transactionMapper.toDTOList(trimSlice(rows, size), user));
+    }
+    
+    /**
+     * Keyset-paginated listing like {@link #getTransactionsByCursor}, returning compact
+     * list items read with a field projection instead of full transactions.
+     */
+    public CursorPage<TransactionListItemDTO> getTransactionItemsByCursor(String userId, String cursor, int size, boolean includeTotal) {
+        User user = userService.getUserById(userId);
+        List<FinancialTransaction> rows = findCursorSlice(user.getId(), cursor, size, true);
+        return toCursorPage(rows, size, user.getId(), includeTotal, transactionMapper.toListItemDTOList(trimSlice(rows, size)));
+    }
+    
+    /**
+     * One slice plus one extra row, which tells whether another slice follows.
+     */
+    private List<FinancialTransaction> findCursorSlice(String userId, String cursor, int size, boolean listItemsOnly) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw TransactionValidationException.invalidPageSize(size, MAX_CURSOR_PAGE_SIZE);
+        }
+        Pageable limit = PageRequest.of(0, size + 1, KEYSET_SORT);
+        if (cursor == null || cursor.isBlank()) {
+            return listItemsOnly
+                ? transactionRepository.findListItemsByUserId(userId, limit)
+                : transactionRepository.findByUserId(userId, limit);
+        }
+        TransactionCursorMapper.Position after = transactionCursorMapper.decode(cursor);
+        return listItemsOnly
+            ? transactionRepository.findListItemsByUserIdAfter(userId, after.date(), after.id(), limit)
+            : transactionRepository.findByUserIdAfter(userId, after.date(), after.id(), limit);
+    }
+    
+    private List<FinancialTransaction> trimSlice(List<FinancialTransaction> rows, int size) {
+        return rows.size() > size ? rows.subList(0, size) : rows;
+    }
+    
+    private <T> CursorPage<T> toCursorPage(List<FinancialTransaction> rows, int size, String userId,
+                                           boolean includeTotal, List<T> content) {
+        boolean hasMore = rows.size() > size;
+        String nextCursor = hasMore ? transactionCursorMapper.encode(rows.get(size - 1)) : null;
+        Long totalElements = includeTotal ? transactionRepository.countByUserId(userId) : null;
+        return new CursorPage<>(content, size, nextCursor, hasMore, totalElements);
+    }
+    
     public TransactionDTO getTransactionById(String id, String userId) {
         User user = userService.getUserById(userId);
         String userStringId = user.getId();
-        FinancialTransaction transaction = transactionRepository.findByIdAndUser(id, userStringId)
+        FinancialTransaction transaction = transactionRepository.findByIdAndUserId(id, userStringId)
                 .orElseThrow(() -> TransactionNotFoundException.byIdAndUserId(id, userId));
-        return transactionMapper.toDTO(transaction);
+        return transactionMapper.toDTO(transaction, user);
     }
     
     @Transactional
     public TransactionDTO createTransaction(FinancialTransaction transaction, String userId) {
         User user = userService.getUserById(userId);
-        transaction.setUser(user);
+        transaction.setUserId(user.getId());
+        transaction.setCurrency(resolveCurrency(transaction.getCurrency(), user));
         FinancialTransaction savedTransaction = transactionRepository.save(transaction);
-        return transactionMapper.toDTO(savedTransaction);
+        monthlyRollupService.recordCreated(savedTransaction);
+        return transactionMapper.toDTO(savedTransaction, user);
+    }
+    
+    /**
+     * Create a batch of transactions for one user. The user is resolved once, every
+     * item is validated individually, and the valid ones are written with unordered
+     * bulk inserts. An item whose clientReferenceId was already stored is reported as
+     * a duplicate, which makes retried syncs safe.
+     */
+    public BulkCreateTransactionResponseDTO createTransactions(BulkCreateTransactionRequestDTO requestDTO) {
+        User user = userService.getUserById(requestDTO.getUserId());
+        List<BulkTransactionItemDTO> items = requestDTO.getTransactions();
+        
+        List<BulkTransactionResultDTO> results = new ArrayList<>(items.size());
+        List<FinancialTransaction> toInsert = new ArrayList<>(items.size());
+        List<BulkTransactionResultDTO> pending = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            BulkTransactionItemDTO item = items.get(index);
+            String clientReferenceId = item != null ? item.getClientReferenceId() : null;
+            BulkTransactionResultDTO result = new BulkTransactionResultDTO(index, clientReferenceId, null, null, null);
+            results.add(result);
+            
+            Map<String, String> errors = validateItem(item);
+            if (errors.isEmpty() && item.getCurrency() != null
+                    && !fxRateTable.canConvert(item.getCurrency(), user.getCurrency())) {
+                errors.put("currency", TransactionValidationException
+                        .unsupportedCurrency(item.getCurrency(), user.getCurrency()).getMessage());
+            }
+            if (!errors.isEmpty()) {
+                result.setStatus(BulkItemStatus.VALIDATION_FAILED);
+                result.setErrors(errors);
+                continue;
+            }
+            FinancialTransaction transaction = transactionMapper.toEntity(item, user.getId());
+            if (transaction.getCurrency() == null) {
+                transaction.setCurrency(user.getCurrency());
+            }
+            toInsert.add(transaction);
+            pending.add(result);
+        }
+        
+        List<BulkItemStatus> outcomes = transactionBulkWriter.insertAll(toInsert);
+        for (int i = 0; i < outcomes.size(); i++) {
+            BulkTransactionResultDTO result = pending.get(i);
+            result.setStatus(outcomes.get(i));
+            if (outcomes.get(i) == BulkItemStatus.CREATED) {
+                result.setId(toInsert.get(i).getId());
+            }
+        }
+        
+        int created = 0;
+        int duplicates = 0;
+        for (BulkTransactionResultDTO result : results) {
+            if (result.getStatus() == BulkItemStatus.CREATED) {
+                created++;
+            } else if (result.getStatus() == BulkItemStatus.DUPLICATE) {
+                duplicates++;
+            }
+        }
+        return new BulkCreateTransactionResponseDTO(created, duplicates, results.size() - created - duplicates, results);
+    }
+    
+    /**
+     * Currency to store on a transaction: the requested one if it can be reported in
+     * the owner's currency, or the owner's currency when none was given.
+     */
+    private String resolveCurrency(String requested, User user) {
+        if (requested == null) {
+            return user.getCurrency();
+        }
+        if (!fxRateTable.canConvert(requested, user.getCurrency())) {
+            throw TransactionValidationException.unsupportedCurrency(requested, user.getCurrency());
+        }
+        return requested;
+    }
+    
+    private Map<String, String> validateItem(BulkTransactionItemDTO item) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (item == null) {
+            errors.put("transaction", "Transaction is required");
+            return errors;
+        }
+        for (ConstraintViolation<BulkTransactionItemDTO> violation : validator.validate(item)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
     }
     
     @Transactional
     public TransactionDTO updateTransaction(String id, UpdateTransactionRequestDTO requestDTO, String userId) {
         User user = userService.getUserById(userId);
         String userStringId = user.getId();
-        FinancialTransaction transaction = transactionRepository.findByIdAndUser(id, userStringId)
+        FinancialTransaction transaction = transactionRepository.findByIdAndUserId(id, userStringId)
                 .orElseThrow(() -> TransactionNotFoundException.byIdAndUserId(id, userId));
         
+        MonthlyRollupService.Contribution previousContribution = MonthlyRollupService.Contribution.of(transaction);
         transactionMapper.updateEntity(transaction, requestDTO);
+        transaction.setCurrency(resolveCurrency(transaction.getCurrency(), user));
         
         FinancialTransaction savedTransaction = transactionRepository.save(transaction);
-        return transactionMapper.toDTO(savedTransaction);
+        monthlyRollupService.recordUpdated(previousContribution, savedTransaction);
+        return transactionMapper.toDTO(savedTransaction, user);
     }
     
     @Transactional
     public TransactionDTO deleteTransaction(String id, String userId) {
         User user = userService.getUserById(userId);
         String userStringId = user.getId();
-        FinancialTransaction transaction = transactionRepository.findByIdAndUser(id, userStringId)
+        FinancialTransaction transaction = transactionRepository.findByIdAndUserId(id, userStringId)
                 .orElseThrow(() -> TransactionNotFoundException.byIdAndUserId(id, userId));
         
-        TransactionDTO deletedTransactionDTO = transactionMapper.toDTO(transaction);
+        TransactionDTO deletedTransactionDTO = transactionMapper.toDTO(transaction, user);
         transactionRepository.deleteById(id);
+        monthlyRollupService.recordDeleted(transaction);
         return deletedTransactionDTO;
     }
     
-    public Double getTotalTransactionsByUserId(String userId) {
-        return transactionRepository.sumAmountByUser(userId);
-    }
-    
     public List<TransactionDTO> getRecentTransactions(String userId, int limit) {
         User user = userService.getUserById(userId);
         Pageable pageable = PageRequest.of(0, limit);
-        Page<FinancialTransaction> transactionPage = transactionRepository.findByUserOrderByDateDesc(user, pageable);
-        return transactionMapper.toDTOList(transactionPage.getContent());
+        Page<FinancialTransaction> transactionPage = transactionRepository.findByUserIdOrderByDateDesc(user.getId(), pageable);
+        return transactionMapper.toDTOList(transactionPage.getContent(), user);
     }
     
-    public Double getTotalIncomeByUserId(String userId) {
+    /**
+     * Get lifetime income and expense totals in the user's reporting currency,
+     * read from the monthly rollups.
+     */
+    public Map<TransactionType, Double> getTotalsByType(String userId) {
         User user = userService.getUserById(userId);
-        List<FinancialTransaction> transactions = transactionRepository.findByUser(user);
-        return transactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.INCOME)
-                .mapToDouble(FinancialTransaction::getAmount)
-                .sum();
+        YearMonth currentMonth = YearMonth.now(DateTimeUtils.IST_ZONE);
+        MonthlyRollupService.Summary summary = monthlyRollupService.summarize(
+            user.getId(), user.getCurrency(), currentMonth.minusMonths(1), currentMonth);
+        
+        Map<TransactionType, Double> totals = new EnumMap<>(TransactionType.class);
+        totals.put(TransactionType.INCOME, MoneyUtils.toMajor(summary.totalIncome()));
+        totals.put(TransactionType.EXPENSE, MoneyUtils.toMajor(summary.totalExpense()));
+        return totals;
+    }
+    
+    public Double getTotalIncomeByUserId(String userId) {
+        return getTotalsByType(userId).get(TransactionType.INCOME);
     }
     
     public Double getTotalExpenseByUserId(String userId) {
-        User user = userService.getUserById(userId);
-        List<FinancialTransaction> transactions = transactionRepository.findByUser(user);
-        return transactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.EXPENSE)
-                .mapToDouble(FinancialTransaction::getAmount)
-                .sum();
+        return getTotalsByType(userId).get(TransactionType.EXPENSE);
     }
     
+    /**
+     * Total expense for a month in the user's reporting currency, read from the monthly rollups.
+     */
     public Double getTotalExpenseForMonth(String userId, YearMonth yearMonth) {
         User user = userService.getUserById(userId);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
-        List<FinancialTransaction> transactions = transactionRepository.findByUserAndDateBetween(user, startDate, endDate);
-        return transactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.EXPENSE)
-                .mapToDouble(FinancialTransaction::getAmount)
-                .sum();
+        return monthlyRollupService.getExpenseForMonth(user.getId(), yearMonth, user.getCurrency());
     }
     
     public PaginatedResponse<TransactionDTO> getCurrentMonthTransactions(String userId, int page, int size) {
         User user = userService.getUserById(userId);
+        Page<FinancialTransaction> monthPage = findCurrentMonthPage(user.getId(), page, size);
+        
+        List<TransactionDTO> transactionDTOs = transactionMapper.toDTOList(monthPage.getContent(), user);
+        return new PaginatedResponse<>(transactionDTOs, page, size, monthPage.getTotalElements());
+    }
+    
+    /**
+     * Current month page without the owner embedded in every element.
+     */
+    public PaginatedResponse<TransactionListItemDTO> getCurrentMonthTransactionItems(String userId, int page, int size) {
+        User user = userService.getUserById(userId);
+        Page<FinancialTransaction> monthPage = findCurrentMonthItemPage(user.getId(), page, size);
+        
+        List<TransactionListItemDTO> items = transactionMapper.toListItemDTOList(monthPage.getContent());
+        return new PaginatedResponse<>(items, page, size, monthPage.getTotalElements());
+    }
+    
+    public List<TransactionListItemDTO> getAllTransactionItemsByUserId(String userId) {
+        User user = userService.getUserById(userId);
+        List<FinancialTransaction> transactions = transactionRepository.findAllListItemsByUserId(user.getId());
+        return transactionMapper.toListItemDTOList(transactions);
+    }
+    
+    private Page<FinancialTransaction> findCurrentMonthPage(String userId, int page, int size) {
         YearMonth currentMonth = YearMonth.now(DateTimeUtils.IST_ZONE);
         LocalDate startDate = currentMonth.atDay(1);
         LocalDate endDate = currentMonth.atEndOfMonth();
         
-        List<FinancialTransaction> allTransactions = transactionRepository.findByUserAndDateBetween(user, startDate, endDate);
-        List<FinancialTransaction> sortedTransactions = allTransactions.stream()
-                .sorted((a, b) -> b.getDate().compareTo(a.getDate()))
-                .toList();
-        
-        int totalElements = sortedTransactions.size();
-        int totalPages = (int) Math.ceil((double) totalElements / size);
-        int start = page * size;
-        int end = Math.min(start + size, totalElements);
-        List<FinancialTransaction> pageContent = sortedTransactions.subList(start, end);
-        
-        List<TransactionDTO> transactionDTOs = transactionMapper.toDTOList(pageContent);
-        return new PaginatedResponse<>(transactionDTOs, page, size, totalElements);
+        Pageable pageable = PageRequest.of(page, size, KEYSET_SORT);
+        return transactionRepository.findPageByUserIdAndDateRange(userId, startDate, endDate, pageable);
+    }
+    
+    private Page<FinancialTransaction> findCurrentMonthItemPage(String userId, int page, int size) {
+        YearMonth currentMonth = YearMonth.now(DateTimeUtils.IST_ZONE);
+        Pageable pageable = PageRequest.of(page, size, KEYSET_SORT);
+        return transactionRepository.findListItemPageByUserIdAndDateRange(
+            userId, currentMonth.atDay(1), currentMonth.atEndOfMonth(), pageable);
     }
 }
-
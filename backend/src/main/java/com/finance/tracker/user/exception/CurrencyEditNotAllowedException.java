@@ -3,6 +3,8 @@ package com.finance.tracker.user.exception;
 import com.finance.tracker.common.exception.BaseException;
 import org.springframework.http.HttpStatus;
 
+import java.util.List;
+
 public class CurrencyEditNotAllowedException extends BaseException {
     public CurrencyEditNotAllowedException(String message) {
         super(message, HttpStatus.BAD_REQUEST, "CURRENCY_EDIT_NOT_ALLOWED");
@@ -12,5 +14,17 @@ public class CurrencyEditNotAllowedException extends BaseException {
         super("Currency cannot be changed after expenses have been created",
                 HttpStatus.BAD_REQUEST, "CURRENCY_EDIT_NOT_ALLOWED");
     }
+    
+    public static CurrencyEditNotAllowedException noExchangeRates(String currency) {
+        return new CurrencyEditNotAllowedException(
+                String.format("Currency '%s' cannot be used for reporting: no exchange rates available", currency)
+        );
+    }
+    
+    public static CurrencyEditNotAllowedException ledgerNotConvertible(String currency, List<String> ledgerCurrencies) {
+        return new CurrencyEditNotAllowedException(
+                String.format("Currency '%s' cannot be used for reporting: no exchange rates from %s, used by existing transactions",
+                        currency, String.join(", ", ledgerCurrencies))
+        );
+    }
 }
-
@@ -22,7 +22,7 @@ public class UserProfileMapper {
         dto.setEmail(user.getEmail());
         dto.setCurrency(user.getCurrency());
         dto.setAddress(user.getAddress());
-        dto.setCanEditCurrency(false);
+        dto.setCanEditCurrency(true);
         dto.setCreatedAt(user.getCreatedAt());
         dto.setUpdatedAt(user.getUpdatedAt());
         
@@ -2,6 +2,7 @@ package com.finance.tracker.user.repository;
 
 import com.finance.tracker.user.entity.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,5 +15,11 @@ public interface UserProfileRepository extends MongoRepository<User, String> {
     boolean existsByPhoneNumber(String phoneNumber);
     
     Optional<User> findByEmail(String email);
+    
+    /**
+     * User with the given email, with only its ID loaded.
+     */
+    @Query(value = "{ 'email': ?0 }", fields = "{ '_id': 1 }")
+    Optional<User> findIdByEmail(String email);
 }
 
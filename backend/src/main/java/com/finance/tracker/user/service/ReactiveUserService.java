@@ -0,0 +1,48 @@
+package com.finance.tracker.user.service;
+
+import com.finance.tracker.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterparts of the {@link UserService} operations used on login.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserService {
+    
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final UserCache userCache;
+    
+    public Mono<String> findUserIdByEmail(String email) {
+        Query query = Query.query(Criteria.where("email").is(email));
+        query.fields().include("_id");
+        return reactiveMongoTemplate.findOne(query, User.class).map(User::getId);
+    }
+    
+    /**
+     * Same atomic upsert as {@link UserService#createUserIfNotExists(String, String, String)}.
+     */
+    public Mono<String> createUserIfNotExists(String firebaseUid, String email, String name) {
+        return reactiveMongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(firebaseUid)),
+                    UserService.defaultsOnInsert(email, name),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    User.class)
+                .map(User::getId)
+                .defaultIfEmpty(firebaseUid)
+                .doOnNext(userCache::invalidate)
+                .onErrorResume(DuplicateKeyException.class, ex -> reactiveMongoTemplate
+                    .findById(firebaseUid, User.class)
+                    .switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate.findOne(
+                        Query.query(Criteria.where("email").is(email)), User.class)))
+                    .map(User::getId)
+                    .switchIfEmpty(Mono.error(ex)));
+    }
+}
@@ -0,0 +1,109 @@
+package com.finance.tracker.user.service;
+
+import com.finance.tracker.user.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Users resolved during the current HTTP request, so each one is read from the
+ * database at most once per request however many services ask for it.
+ *
+ * The state lives in a request attribute: {@code FirebaseIdTokenFilter} opens it once
+ * the token is verified and closes it when the request completes. Outside a request
+ * (scheduled jobs, startup) nothing is memoized.
+ *
+ * Metrics:
+ * - user.reads (source=database|request): lookups served by the database or by the memo
+ * - user.reads.per.request: database reads made by each request
+ */
+@Component
+public class RequestUserContext {
+    
+    private static final String STATE_ATTRIBUTE = RequestUserContext.class.getName() + ".STATE";
+    
+    private final Counter databaseReads;
+    private final Counter requestHits;
+    private final DistributionSummary readsPerRequest;
+    
+    public RequestUserContext(MeterRegistry meterRegistry) {
+        this.databaseReads = Counter.builder("user.reads").tag("source", "database").register(meterRegistry);
+        this.requestHits = Counter.builder("user.reads").tag("source", "request").register(meterRegistry);
+        this.readsPerRequest = DistributionSummary.builder("user.reads.per.request").register(meterRegistry);
+    }
+    
+    /**
+     * Start tracking users for an authenticated request.
+     */
+    public void open(HttpServletRequest request) {
+        request.setAttribute(STATE_ATTRIBUTE, new State());
+    }
+    
+    /**
+     * Record how many database reads the request made.
+     */
+    public void close(HttpServletRequest request) {
+        if (request.getAttribute(STATE_ATTRIBUTE) instanceof State state) {
+            readsPerRequest.record(state.databaseReads.get());
+            request.removeAttribute(STATE_ATTRIBUTE);
+        }
+    }
+    
+    public User get(String userId) {
+        State state = currentState();
+        if (state == null) {
+            return null;
+        }
+        User user = state.users.get(userId);
+        if (user != null) {
+            requestHits.increment();
+        }
+        return user;
+    }
+    
+    /**
+     * Remember a user just read from the database.
+     */
+    public void putLoaded(User user) {
+        databaseReads.increment();
+        State state = currentState();
+        if (state != null) {
+            state.databaseReads.incrementAndGet();
+            state.users.put(user.getId(), user);
+        }
+    }
+    
+    /**
+     * Remember a user obtained without a database read, or replace the remembered
+     * copy after the user was written.
+     */
+    public void put(User user) {
+        State state = currentState();
+        if (state != null) {
+            state.users.put(user.getId(), user);
+        }
+    }
+    
+    private State currentState() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return attributes.getAttribute(STATE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof State state
+                ? state
+                : null;
+    }
+    
+    private static final class State {
+        private final Map<String, User> users = new ConcurrentHashMap<>();
+        private final AtomicInteger databaseReads = new AtomicInteger();
+    }
+}
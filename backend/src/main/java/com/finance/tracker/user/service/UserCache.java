@@ -0,0 +1,57 @@
+package com.finance.tracker.user.service;
+
+import com.finance.tracker.user.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, process-wide cache of {@link User} documents in front of
+ * {@code UserProfileRepository}.
+ *
+ * Entries expire after {@code user.cache.ttl}, which bounds how stale another pod's
+ * write can appear. Writes made by this pod invalidate their entry immediately, and
+ * {@link UserCacheInvalidationListener} can invalidate on writes from other pods too.
+ * Hit, miss and eviction counts are published as the {@code cache.*} metrics
+ * tagged {@code cache=users}.
+ */
+@Component
+public class UserCache {
+    
+    private final Cache<String, User> cache;
+    
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${user.cache.max-size:10000}") long maxSize,
+                     @Value("${user.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+    
+    /**
+     * Cached user, loading it with {@code loader} on a miss. Concurrent misses for the
+     * same ID share one load; exceptions thrown by the loader are not cached.
+     */
+    public User get(String userId, Function<String, User> loader) {
+        return cache.get(userId, loader);
+    }
+    
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+    
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,77 @@
+package com.finance.tracker.user.service;
+
+import com.finance.tracker.user.entity.User;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link UserCache} coherent across pods by invalidating entries on every
+ * change to the users collection, whichever pod made it.
+ *
+ * Change streams require a replica set or sharded cluster, so this is opt-in via
+ * {@code user.cache.change-stream.enabled}. Without it, other pods' writes become
+ * visible once the entry's TTL expires.
+ */
+@Component
+@ConditionalOnProperty(name = "user.cache.change-stream.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheInvalidationListener.class);
+    
+    private final MongoTemplate mongoTemplate;
+    private final UserCache userCache;
+    
+    private MessageListenerContainer container;
+    
+    @Override
+    public void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        ChangeStreamRequest<Document> request = ChangeStreamRequest.builder(this::onChange)
+                .collection(mongoTemplate.getCollectionName(User.class))
+                .build();
+        container.register(request, Document.class,
+                error -> logger.warn("User cache change stream error: {}", error.getMessage()));
+        container.start();
+        logger.info("Listening for users changes to invalidate the user cache");
+    }
+    
+    private void onChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> event = message.getRaw();
+        if (event == null || event.getDocumentKey() == null) {
+            // Drop, rename or invalidate events: nothing to key on, so start over
+            userCache.invalidateAll();
+            return;
+        }
+        BsonValue id = event.getDocumentKey().get("_id");
+        if (id != null && id.isString()) {
+            userCache.invalidate(id.asString().getValue());
+        } else {
+            userCache.invalidateAll();
+        }
+    }
+    
+    @Override
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return container != null && container.isRunning();
+    }
+}
@@ -1,5 +1,7 @@
 package com.finance.tracker.user.service;
 
+import com.finance.tracker.currency.service.FxRateTable;
+import com.finance.tracker.rollup.service.MonthlyRollupService;
 import com.finance.tracker.user.dto.UpdateUserProfileRequestDTO;
 import com.finance.tracker.user.dto.UserProfileDTO;
 import com.finance.tracker.user.entity.User;
@@ -8,9 +10,17 @@ import com.finance.tracker.user.exception.UserNotFoundException;
 import com.finance.tracker.user.mapper.UserProfileMapper;
 import com.finance.tracker.user.repository.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,6 +33,11 @@ public class UserService {
     
     private final UserProfileRepository userProfileRepository;
     private final UserProfileMapper userProfileMapper;
+    private final RequestUserContext requestUserContext;
+    private final UserCache userCache;
+    private final MongoTemplate mongoTemplate;
+    private final FxRateTable fxRateTable;
+    private final MonthlyRollupService monthlyRollupService;
 
     // ========== User Profile Operations ==========
     
@@ -31,8 +46,7 @@ public class UserService {
      */
     @Transactional
     public UserProfileDTO getUserProfile(String userId) {
-        User user = userProfileRepository.findById(userId)
-                .orElseThrow(() -> UserNotFoundException.byId(userId));
+        User user = getUserById(userId);
         return userProfileMapper.toDTO(user);
     }
     /**
@@ -40,63 +54,109 @@ public class UserService {
      */
     @Transactional
     public UserProfileDTO updateUserProfile(String userId, UpdateUserProfileRequestDTO requestDTO) {
+        // Read the stored document rather than the shared cached instance, which is mutated below
         User user = userProfileRepository.findById(userId)
                 .orElseThrow(() -> UserNotFoundException.byId(userId));
-        // Only allow currency change if user has no expenses
-        if (requestDTO.getCurrency() != null) {
-            throw new CurrencyEditNotAllowedException();
+        // Transactions keep their own currency, so the reporting currency can change
+        // to any currency the FX rate table can convert the existing ledger into
+        String newCurrency = requestDTO.getCurrency();
+        if (newCurrency != null && !newCurrency.equals(user.getCurrency())) {
+            if (!fxRateTable.supports(newCurrency)) {
+                throw CurrencyEditNotAllowedException.noExchangeRates(newCurrency);
+            }
+            List<String> unconvertible = monthlyRollupService.findCurrencies(userId).stream()
+                    .filter(currency -> !fxRateTable.canConvert(currency, newCurrency))
+                    .toList();
+            if (!unconvertible.isEmpty()) {
+                throw CurrencyEditNotAllowedException.ledgerNotConvertible(newCurrency, unconvertible);
+            }
         }
         
         // Update fields using mapper
         userProfileMapper.updateEntityFromDTO(user, requestDTO);
         
         User savedUser = userProfileRepository.save(user);
+        userCache.invalidate(userId);
+        requestUserContext.put(savedUser);
         return userProfileMapper.toDTO(savedUser);
     }
     
     /**
-     * Get user by ID. Used by ExpenseService.
+     * Get user by ID. Served from the request context, then the process-wide
+     * {@link UserCache}, and only then from the database.
+     * The returned instance is shared; callers must not modify it.
      */
     public User getUserById(String userId) {
-        return userProfileRepository.findById(userId)
-                .orElseThrow(() -> UserNotFoundException.byId(userId));
+        User cached = requestUserContext.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        User user = userCache.get(userId, id -> {
+            User loaded = userProfileRepository.findById(id)
+                    .orElseThrow(() -> UserNotFoundException.byId(id));
+            requestUserContext.putLoaded(loaded);
+            return loaded;
+        });
+        requestUserContext.put(user);
+        return user;
+    }
+    
+    /**
+     * ID (Firebase UID) of the user registered with this email, if any.
+     */
+    public Optional<String> findUserIdByEmail(String email) {
+        return userProfileRepository.findIdByEmail(email).map(User::getId);
     }
     
     /**
      * Create user if not exists, or return existing user's ID.
      * Uses Firebase UID as the primary key (String).
      * 
+     * Done as one atomic findAndModify upsert keyed by the UID, whose $setOnInsert
+     * fields apply only when the document is created. Concurrent logins for the same
+     * user therefore converge on a single document. If another account already owns
+     * the email (unique index), that account's ID is returned instead.
+     * 
      * @param firebaseUid Firebase UID string (stored directly as String)
      * @param email User email address
      * @param name User display name (optional, defaults to email prefix if null)
      * @return User ID as String (Firebase UID) of the user (existing or newly created)
      */
-    @Transactional
     public String createUserIfNotExists(String firebaseUid, String email, String name) {
-        // First, check if user already exists by Firebase UID
-        Optional<User> existingUser = userProfileRepository.findById(firebaseUid);
-        if (existingUser.isPresent()) {
-            return existingUser.get().getId();
-        }
+        Update update = defaultsOnInsert(email, name);
         
-        // Also check by email as fallback
-        Optional<User> existingByEmail = userProfileRepository.findByEmail(email);
-        if (existingByEmail.isPresent()) {
-            return existingByEmail.get().getId();
+        try {
+            User user = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(firebaseUid)),
+                update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                User.class
+            );
+            userCache.invalidate(firebaseUid);
+            return user != null ? user.getId() : firebaseUid;
+        } catch (DuplicateKeyException ex) {
+            // Either a concurrent upsert for the same UID won the insert, or the email
+            // belongs to an existing user with a different ID
+            return userProfileRepository.findById(firebaseUid)
+                    .or(() -> userProfileRepository.findByEmail(email))
+                    .map(User::getId)
+                    .orElseThrow(() -> ex);
         }
-        
-        // User doesn't exist, create new user
-        User newUser = new User();
-        newUser.setId(firebaseUid); // Use Firebase UID directly as String
-        newUser.setEmail(email);
-        newUser.setName(name != null && !name.isBlank() ? name : (email != null ? email.split("@")[0] : "User"));
-        newUser.setCurrency("INR"); // Default currency
-        newUser.setIsActive(true);
-        newUser.setEmailVerified(true); // Google SSO means email is verified
-        
-        User savedUser = userProfileRepository.save(newUser);
-        return savedUser.getId();
+    }
+    
+    /**
+     * Profile defaults for a user created on first login, as $setOnInsert so an
+     * existing user is left untouched by the upsert.
+     */
+    public static Update defaultsOnInsert(String email, String name) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Update()
+                .setOnInsert("email", email)
+                .setOnInsert("name", name != null && !name.isBlank() ? name : (email != null ? email.split("@")[0] : "User"))
+                .setOnInsert("currency", "INR") // Default currency
+                .setOnInsert("isActive", true)
+                .setOnInsert("emailVerified", true) // Google SSO means email is verified
+                .setOnInsert("created_at", now)
+                .setOnInsert("updated_at", now);
     }
 }
-
-